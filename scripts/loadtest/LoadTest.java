@@ -0,0 +1,132 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator: each client sends GET requests back to back over the given
+ * paths for a fixed duration, then throughput and latency percentiles are printed as one line.
+ *
+ * <pre>
+ * java scripts/loadtest/LoadTest.java --url http://localhost:8080 --clients 400 --seconds 60 \
+ *     --warmup 15 --label platform --paths /api/nurses,/api/schedules/swap-requests
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String url = option(args, "--url", "http://localhost:8080");
+        int clients = Integer.parseInt(option(args, "--clients", "200"));
+        int seconds = Integer.parseInt(option(args, "--seconds", "60"));
+        int warmup = Integer.parseInt(option(args, "--warmup", "10"));
+        String label = option(args, "--label", "run");
+        String token = option(args, "--token", System.getenv("NURSEPRO_TOKEN"));
+        List<String> paths = Arrays.asList(option(args, "--paths", "/api/nurses,/api/schedules,/api/schedules/swap-requests").split(","));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : paths) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url + path.trim()))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET();
+            if (token != null && !token.isEmpty()) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            requests.add(builder.build());
+        }
+
+        if (warmup > 0) {
+            run(client, requests, clients, warmup);
+        }
+        Result result = run(client, requests, clients, seconds);
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+        System.out.printf("%s clients=%d requests=%d errors=%d throughput=%.1f/s p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms%n",
+                label, clients, latencies.length, result.errors(), latencies.length / (double) seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 1.0));
+        System.exit(0);
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+
+    private static Result run(HttpClient client, List<HttpRequest> requests, int clients, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong errors = new AtomicLong();
+        long[][] perClient = new long[clients][];
+        int[] counts = new int[clients];
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            int id = c;
+            pool.execute(() -> {
+                long[] samples = new long[1024];
+                int n = 0;
+                int next = id;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requests.get(next++ % requests.size());
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (n == samples.length) {
+                        samples = Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                }
+                perClient[id] = samples;
+                counts[id] = n;
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            if (perClient[c] != null) {
+                System.arraycopy(perClient[c], 0, all, offset, counts[c]);
+                offset += counts[c];
+            }
+        }
+        return new Result(Arrays.copyOf(all, offset), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static String option(String[] args, String name, String fallback) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return fallback;
+    }
+}
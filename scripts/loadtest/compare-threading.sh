@@ -0,0 +1,66 @@
+#!/bin/bash
+
+# Compares platform-thread and virtual-thread request execution under the same load.
+# Starts the packaged app once per mode against the configured database, drives it with
+# LoadTest.java and prints one result line per mode.
+#
+# Usage: scripts/loadtest/compare-threading.sh [clients] [seconds]
+# Environment:
+#   PROFILE         environment profile to combine with the mode (default: dev)
+#   DB_POOL_SIZE    connection pool size used by both modes (default: 20)
+#   NURSEPRO_TOKEN  bearer token sent with every request
+#   PATHS           comma separated GET paths (default: see LoadTest.java)
+# Virtual threads need Java 21 or newer on the PATH.
+
+set -e
+
+CLIENTS=${1:-400}
+SECONDS_PER_RUN=${2:-60}
+PROFILE=${PROFILE:-dev}
+PORT=${PORT:-8080}
+export DB_POOL_SIZE=${DB_POOL_SIZE:-20}
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR="$ROOT/target/nursepro.jar"
+RESULTS="$ROOT/target/loadtest"
+
+JAVA_FEATURE=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_FEATURE%%.*}" -lt 21 ]; then
+    echo "Error: Java $JAVA_FEATURE found, virtual threads need Java 21+"
+    exit 1
+fi
+
+if [ ! -f "$JAR" ]; then
+    (cd "$ROOT" && mvn -B -q package -DskipTests)
+fi
+mkdir -p "$RESULTS"
+
+run_mode() {
+    local mode=$1
+    local profiles=$PROFILE
+    if [ "$mode" = "virtual" ]; then
+        profiles="$PROFILE,virtual"
+    fi
+
+    java -jar "$JAR" --spring.profiles.active="$profiles" --server.port="$PORT" \
+        --app.rate-limit.enabled=false --spring.jpa.show-sql=false > "$RESULTS/app-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    java "$ROOT/scripts/loadtest/LoadTest.java" --url "http://localhost:$PORT" --clients "$CLIENTS" \
+        --seconds "$SECONDS_PER_RUN" --warmup 15 --label "$mode" ${PATHS:+--paths "$PATHS"} \
+        | tee -a "$RESULTS/threading-$(date +%Y%m%d).txt"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform
+run_mode virtual
@@ -0,0 +1,69 @@
+#!/bin/bash
+
+# Measures cold start three ways: the plain jar, the AOT-processed jar, and the AOT jar with a
+# CDS archive. For each, it records the time until /actuator/health answers, the startup time
+# Spring reports, and the latency of the first and second request to each path.
+# Results are printed and appended to target/startup/.
+#
+# Usage: scripts/startup/benchmark-startup.sh [runs]
+# Environment:
+#   PROFILE         profile to start with, needs a reachable database (default: dev)
+#   NURSEPRO_TOKEN  bearer token sent with the requests
+#   PATHS           space separated GET paths (default: /api/nurses /api/schedules)
+
+set -e
+
+RUNS=${1:-3}
+PROFILE=${PROFILE:-dev}
+PORT=${PORT:-8080}
+PATHS=${PATHS:-/api/nurses /api/schedules}
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+RESULTS="$ROOT/target/startup"
+APP="$RESULTS/app"
+
+(cd "$ROOT" && mvn -B -q package -Paot -DskipTests)
+mkdir -p "$RESULTS"
+rm -rf "$APP"
+"$ROOT/scripts/startup/cds-training.sh" "$ROOT/target/nursepro.jar" "$APP" > "$RESULTS/cds-training.log" 2>&1
+
+request_ms() {
+    curl -s -o /dev/null -w '%{time_total}' ${NURSEPRO_TOKEN:+-H "Authorization: Bearer $NURSEPRO_TOKEN"} \
+        "http://localhost:$PORT$1" | awk '{printf "%.0f", $1 * 1000}'
+}
+
+run_mode() {
+    local mode=$1
+    shift
+    local start end pid line
+    start=$(date +%s%N)
+    (cd "$APP" && exec java "$@" -jar nursepro.jar --spring.profiles.active="$PROFILE" --server.port="$PORT" \
+        --spring.jpa.show-sql=false) > "$RESULTS/app-$mode.log" 2>&1 &
+    pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "Error: $mode failed to start, see $RESULTS/app-$mode.log"
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+
+    line="$mode ready=$(( (end - start) / 1000000 ))ms"
+    line="$line spring=$(grep -o 'Started NurseProApiApplication in [0-9.]* seconds' "$RESULTS/app-$mode.log" | awk '{print $4}')s"
+    for path in $PATHS; do
+        line="$line $path first=$(request_ms "$path")ms second=$(request_ms "$path")ms"
+    done
+    echo "$line" | tee -a "$RESULTS/startup-$(date +%Y%m%d).txt"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+for _ in $(seq 1 "$RUNS"); do
+    run_mode jvm
+    run_mode aot -Dspring.aot.enabled=true
+    run_mode aot-cds -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa
+done
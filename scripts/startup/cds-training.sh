@@ -0,0 +1,33 @@
+#!/bin/sh
+
+# Unpacks the executable jar into DEST and records a class data sharing (CDS) archive for it,
+# DEST/application.jsa, with a training run that refreshes the application context and exits.
+# The training run does not need a database. Run it with the same JVM that will run the app.
+#
+# Usage: scripts/startup/cds-training.sh <nursepro.jar> <dest>
+# Then:  java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar nursepro.jar
+# (from DEST; leave out -Dspring.aot.enabled=true for a jar built without -Paot)
+
+set -e
+
+JAR=$1
+DEST=$2
+if [ -z "$JAR" ] || [ -z "$DEST" ]; then
+    echo "Usage: $0 <nursepro.jar> <dest>"
+    exit 1
+fi
+
+java -Djarmode=tools -jar "$JAR" extract --force --destination "$DEST"
+cd "$DEST"
+
+AOT=""
+if unzip -l nursepro.jar 2>/dev/null | grep -q "__ApplicationContextInitializer"; then
+    AOT="-Dspring.aot.enabled=true"
+fi
+
+# Hibernate must not read JDBC metadata and the revocation list is only loaded on start,
+# so the context refreshes without a database
+java -XX:ArchiveClassesAtExit=application.jsa -Xlog:cds*=error -Dspring.context.exit=onRefresh $AOT -jar nursepro.jar \
+    --spring.jpa.hibernate.ddl-auto=none \
+    --spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+    --logging.level.root=WARN
@@ -0,0 +1,200 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surf.nursepro.nurse_pro_api.dto.ApiError;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs each class of heavy endpoints in its own compartment: a fixed number of requests at a time
+ * plus a short, bounded wait queue. Anything beyond that is rejected with 503 straight away, so an
+ * export storm queues against its own limit instead of the servlet threads and database
+ * connections that light requests need. A permit is held until an async (streamed) response
+ * completes, not just until the controller returns.
+ */
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<Bulkhead> bulkheads = new ArrayList<>();
+
+    private record Bulkhead(String name, RequestPattern pattern, Semaphore permits, AtomicInteger waiting,
+                            int maxWaiting, long maxWaitMs, Counter queueFull, Counter timedOut) {
+    }
+
+    public BulkheadFilter(BulkheadProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          DataSource dataSource) {
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        properties.getCompartments().forEach((name, compartment) -> {
+            Bulkhead bulkhead = new Bulkhead(
+                    name,
+                    new RequestPattern(compartment.getMethod(), compartment.getPaths()),
+                    new Semaphore(compartment.getMaxConcurrent(), true),
+                    new AtomicInteger(),
+                    compartment.getMaxWaiting(),
+                    compartment.getMaxWaitMs(),
+                    rejections(meterRegistry, name, "queue_full"),
+                    rejections(meterRegistry, name, "timeout"));
+            Gauge.builder("bulkhead.active", bulkhead,
+                            b -> compartment.getMaxConcurrent() - b.permits().availablePermits())
+                    .description("Requests running in the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.queue.depth", bulkhead, b -> b.waiting().get())
+                    .description("Requests waiting for a bulkhead permit")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            bulkheads.add(bulkhead);
+        });
+        checkConnectionShare(properties, dataSource);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String name, String reason) {
+        return Counter.builder("bulkhead.rejected")
+                .description("Requests rejected by a saturated bulkhead")
+                .tag("bulkhead", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // Each heavy request holds at most one connection, so the permits bound what bulkheads can take
+    private void checkConnectionShare(BulkheadProperties properties, DataSource dataSource) {
+        int heavy = properties.getCompartments().values().stream()
+                .mapToInt(BulkheadProperties.Compartment::getMaxConcurrent)
+                .sum();
+        if (dataSource instanceof HikariDataSource hikari && enabled) {
+            int available = hikari.getMaximumPoolSize() - properties.getReservedConnections();
+            if (heavy > available) {
+                throw new IllegalStateException("Bulkheads allow " + heavy + " concurrent requests but only "
+                        + available + " of " + hikari.getMaximumPoolSize() + " database connections are not reserved");
+            }
+            logger.info("Bulkheads {} may use {} of {} database connections", properties.getCompartments().keySet(),
+                    heavy, hikari.getMaximumPoolSize());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || match(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = match(request);
+        if (!acquire(bulkhead)) {
+            reject(response, bulkhead);
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.permits().release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Completion of an async request is deferred until this dispatch returns, so the listener is not late
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private boolean acquire(Bulkhead bulkhead) {
+        if (bulkhead.permits().tryAcquire()) {
+            return true;
+        }
+        if (bulkhead.waiting().incrementAndGet() > bulkhead.maxWaiting()) {
+            bulkhead.waiting().decrementAndGet();
+            bulkhead.queueFull().increment();
+            return false;
+        }
+        try {
+            if (bulkhead.permits().tryAcquire(bulkhead.maxWaitMs(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            bulkhead.timedOut().increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            bulkhead.waiting().decrementAndGet();
+        }
+    }
+
+    private void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        logger.warn("Bulkhead {} saturated, rejecting request", bulkhead.name());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ApiError error = new ApiError("Server is busy with " + bulkhead.name() + " requests, please retry shortly",
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), null);
+        response.getWriter().write(objectMapper.writeValueAsString(error));
+    }
+
+    private Bulkhead match(HttpServletRequest request) {
+        for (Bulkhead bulkhead : bulkheads) {
+            if (bulkhead.pattern().matches(request)) {
+                return bulkhead;
+            }
+        }
+        return null;
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-dispatches keep the same permit
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    // Database connections heavy endpoints may never take, kept for light requests
+    private int reservedConnections = 4;
+    private Map<String, Compartment> compartments = new LinkedHashMap<>();
+
+    @Setter
+    @Getter
+    public static class Compartment {
+        private String method;
+        private List<String> paths = List.of();
+        private int maxConcurrent = 2;
+        private int maxWaiting = 4;
+        private long maxWaitMs = 2000;
+    }
+}
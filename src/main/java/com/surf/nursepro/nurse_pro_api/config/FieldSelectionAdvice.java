@@ -0,0 +1,46 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Applies a {@code fields=} parameter to the serialized response. Only the DTO type returned as
+ * {@code data} is trimmed; nested DTOs (the shifts of a schedule) are written in full.
+ */
+@RestControllerAdvice
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(bodyContainer.getValue() instanceof ApiResponse<?> body)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FieldSelection.PARAMETER);
+        Class<?> target = dataType(body.getData());
+        if (fields == null || fields.isBlank() || target == null) {
+            return;
+        }
+        // The service has already validated the names against the DTO
+        bodyContainer.setFilters(FieldSelection.unchecked(fields).filters(target));
+    }
+
+    private static Class<?> dataType(Object data) {
+        if (data instanceof Collection<?> items) {
+            return items.isEmpty() ? null : items.iterator().next().getClass();
+        }
+        return data == null ? null : data.getClass();
+    }
+}
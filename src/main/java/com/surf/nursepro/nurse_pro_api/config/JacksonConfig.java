@@ -0,0 +1,45 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfig {
+
+    // DTOs carry the field selection filter; without a fields parameter it writes every property
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterDefault() {
+        return builder -> builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Serves {@code Accept: application/cbor} with the same modules and settings as JSON. Replaces
+     * the converter Spring MVC would otherwise register with a plain mapper.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                            @Value("${app.cbor.stringref:false}") boolean stringref) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder, stringref));
+    }
+
+    /**
+     * With {@code stringref}, repeated strings (nurse IDs in {@code assignedNurses}, property names,
+     * departments) are written once and then referenced by index, using the CBOR stringref tags
+     * 256/25. Off by default, since many CBOR decoders reject those tags.
+     */
+    static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder, boolean stringref) {
+        CBORFactory factory = CBORFactory.builder()
+                .configure(CBORGenerator.Feature.STRINGREF, stringref)
+                .build();
+        return builder.createXmlMapper(false).factory(factory).build();
+    }
+}
@@ -3,6 +3,7 @@ package com.surf.nursepro.nurse_pro_api.config;
 import com.surf.nursepro.nurse_pro_api.dto.ApiError;
 import com.surf.nursepro.nurse_pro_api.entity.UserPrincipal;
 import com.surf.nursepro.nurse_pro_api.enums.Role;
+import com.surf.nursepro.nurse_pro_api.service.TokenRevocationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -48,6 +49,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -69,17 +73,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            String userId = jwtUtil.extractUserId(jwt);
-            String role = jwtUtil.extractRole(jwt);
+            // Signature and expiry are checked here, once; expired tokens throw ExpiredJwtException
+            VerifiedToken token = jwtUtil.verify(jwt);
+            if (tokenRevocationService.isRevoked(token.tokenId())) {
+                logger.warn("Revoked JWT token {} used for URI: {}", token.tokenId(), requestURI);
+                sendErrorResponse(response, "JWT token has been revoked", HttpStatus.UNAUTHORIZED);
+                return;
+            }
+            String userId = token.userId();
+            String role = token.role();
 
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.isTokenValid(jwt, userId)) {
+                if (!token.isRefresh() && role != null) {
                     UserDetails userDetails = new UserPrincipal(userId, Role.valueOf(role));
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.info("Authenticated user ID: {} with role: {} for URI: {}", userId, role, requestURI);
+                    // Every request passes here; the sampled request log covers it at INFO
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Authenticated user ID: {} with role: {} for URI: {}", userId, role, requestURI);
+                    }
                 } else {
                     logger.warn("Invalid JWT token for user ID: {} on URI: {}", userId, requestURI);
                     sendErrorResponse(response, "Invalid or unauthorized JWT token", HttpStatus.UNAUTHORIZED);
@@ -111,11 +125,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private boolean isPermittedPath(String requestURI) {
-        return true;
-//        if ("/".equals(requestURI)) {
-//            return true; // allow root only
-//        }
-//        return PERMITTED_PATHS.stream().anyMatch(requestURI::startsWith);
+        if ("/".equals(requestURI)) {
+            return true; // allow root only
+        }
+        return PERMITTED_PATHS.stream().anyMatch(requestURI::startsWith);
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
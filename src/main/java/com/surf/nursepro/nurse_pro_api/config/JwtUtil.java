@@ -2,8 +2,10 @@ package com.surf.nursepro.nurse_pro_api.config;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,9 +13,15 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
@@ -29,12 +37,31 @@ public class JwtUtil {
     @Value("${jwt.refresh.expiration:604800000}") // Default: 7 days in ms
     private Long jwtRefreshExpirationMs;
 
-    private SecretKey getSigningKey() {
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified tokens by SHA-256 of the compact token, each dropped once it expires
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    // An invalid secret does not stop startup; issuing or verifying a token fails instead
+    @PostConstruct
+    void init() {
         if (jwtSecret == null || jwtSecret.length() < 32) {
             logger.error("JWT secret is invalid or too short. Minimum length is 32 characters.");
+            return;
+        }
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    private SecretKey getSigningKey() {
+        if (signingKey == null) {
             throw new IllegalStateException("JWT secret is not configured properly");
         }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String generateToken(String userId, String role, String username, String department) {
@@ -67,6 +94,7 @@ public class JwtUtil {
             Date expiryDate = new Date(now.getTime() + expirationMs);
             String token = Jwts.builder()
                     .setClaims(claims)
+                    .setId(UUID.randomUUID().toString())
                     .setSubject(subject)
                     .setIssuedAt(now)
                     .setExpiration(expiryDate)
@@ -80,82 +108,78 @@ public class JwtUtil {
         }
     }
 
-    public String extractUserId(String token) {
-        try {
-            return extractClaim(token, claims -> claims.get("userId", String.class));
-        } catch (JwtException e) {
-            logger.warn("Failed to extract userId from token: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid JWT token: " + e.getMessage());
+    /**
+     * Checks the token's signature and expiry and returns its claims. A token seen before is
+     * answered from a bounded cache until it expires, so its signature is verified only once.
+     *
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            logger.warn("Cannot verify token: token is null or empty");
+            throw new IllegalArgumentException("Token is null or empty");
         }
+        Instant now = Instant.now();
+        String key = hash(token);
+        VerifiedToken cached = verified.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verified.remove(key);
+        }
+
+        if (parser == null) {
+            throw new IllegalStateException("JWT secret is not configured properly");
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedToken verifiedToken = new VerifiedToken(
+                claims.getId(),
+                claims.get("userId", String.class),
+                claims.get("role", String.class),
+                claims.get("username", String.class),
+                claims.get("department", String.class),
+                claims.get("type", String.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        if (!verifiedToken.isExpired(now)) {
+            cache(key, verifiedToken, now);
+        }
+        return verifiedToken;
+    }
+
+    public String extractUserId(String token) {
+        return extract(token, VerifiedToken::userId, "userId");
     }
 
     public String extractRole(String token) {
-        try {
-            return extractClaim(token, claims -> claims.get("role", String.class));
-        } catch (JwtException e) {
-            logger.warn("Failed to extract role from token: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid JWT token: " + e.getMessage());
-        }
+        return extract(token, VerifiedToken::role, "role");
     }
 
     public String extractUsername(String token) {
-        try {
-            return extractClaim(token, claims -> claims.get("username", String.class));
-        } catch (JwtException e) {
-            logger.warn("Failed to extract username from token: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid JWT token: " + e.getMessage());
-        }
+        return extract(token, VerifiedToken::username, "username");
     }
 
     public String extractDepartment(String token) {
-        try {
-            return extractClaim(token, claims -> claims.get("department", String.class));
-        } catch (JwtException e) {
-            logger.warn("Failed to extract department from token: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid JWT token: " + e.getMessage());
-        }
+        return extract(token, VerifiedToken::department, "department");
     }
 
     public boolean isRefreshToken(String token) {
         try {
-            String type = extractClaim(token, claims -> claims.get("type", String.class));
-            return "refresh".equals(type);
+            return verify(token).isRefresh();
         } catch (JwtException e) {
             logger.warn("Failed to check if token is refresh token: {}", e.getMessage());
             return false;
         }
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        if (token == null || token.trim().isEmpty()) {
-            logger.warn("Cannot extract claim: token is null or empty");
-            throw new IllegalArgumentException("Token is null or empty");
-        }
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (JwtException e) {
-            logger.warn("Failed to parse JWT token: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid JWT token: " + e.getMessage());
-        }
-    }
-
     public boolean isTokenValid(String token, String userId) {
         try {
             if (token == null || userId == null) {
                 logger.warn("Token validation failed: token or userId is null");
                 return false;
             }
-            final String extractedUserId = extractUserId(token);
-            boolean isValid = extractedUserId.equals(userId) && !isTokenExpired(token);
+            VerifiedToken verifiedToken = verify(token);
+            boolean isValid = userId.equals(verifiedToken.userId()) && !verifiedToken.isExpired(Instant.now());
             logger.debug("Token validation for userId {}: {}", userId, isValid ? "valid" : "invalid");
             return isValid;
         } catch (JwtException e) {
@@ -164,16 +188,32 @@ public class JwtUtil {
         }
     }
 
-    private boolean isTokenExpired(String token) {
+    private <T> T extract(String token, Function<VerifiedToken, T> claim, String name) {
         try {
-            return extractExpiration(token).before(new Date());
+            return claim.apply(verify(token));
         } catch (JwtException e) {
-            logger.warn("Failed to check token expiration: {}", e.getMessage());
-            return true; // Treat as expired if parsing fails
+            logger.warn("Failed to extract {} from token: {}", name, e.getMessage());
+            throw new IllegalArgumentException("Invalid JWT token: " + e.getMessage());
         }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private void cache(String key, VerifiedToken token, Instant now) {
+        if (verified.size() >= cacheMaxSize) {
+            verified.values().removeIf(entry -> entry.isExpired(now));
+            if (verified.size() >= cacheMaxSize) {
+                // Still full of live tokens: start over rather than track recency on every hit
+                verified.clear();
+            }
+        }
+        verified.put(key, token);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
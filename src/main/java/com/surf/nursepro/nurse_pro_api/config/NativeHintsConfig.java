@@ -0,0 +1,82 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import com.surf.nursepro.nurse_pro_api.NurseProApiApplication;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the GraalVM native image, collected at build time by
+ * {@code process-aot}. Spring derives hints for beans, controllers and JPA entities itself; this
+ * covers what it cannot see: DTOs, entities and events serialized by Jackson outside controller
+ * signatures (streaming, CSV/NDJSON export, SSE), and the resources and XMLBeans types that
+ * POI and iText load reflectively for the Excel and PDF exports.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ApplicationHints.class)
+public class NativeHintsConfig {
+
+    static class ApplicationHints implements RuntimeHintsRegistrar {
+        private static final String BASE_PACKAGE = NurseProApiApplication.class.getPackageName().replace('.', '/');
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+            MetadataReaderFactory readers = new CachingMetadataReaderFactory(resolver);
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+            // Lombok generated accessors of everything written or read as JSON/CBOR
+            for (String pkg : new String[]{"dto", "entity", "enums", "event"}) {
+                for (String type : classNames(resolver, readers, "classpath*:" + BASE_PACKAGE + "/" + pkg + "/**/*.class")) {
+                    bindings.registerReflectionHints(hints.reflection(), ClassUtils.resolveClassName(type, classLoader));
+                }
+            }
+
+            // iText: built-in font metrics (Helvetica) and localized error messages
+            hints.resources().registerPattern("com/itextpdf/text/pdf/fonts/*");
+            hints.resources().registerPattern("com/itextpdf/text/l10n/**");
+
+            // POI XSSF: XMLBeans finds its compiled schema through TypeSystemHolder and instantiates
+            // the *Impl classes through their (SchemaType, boolean) constructor
+            hints.resources().registerPattern("org/apache/poi/schemas/ooxml/**");
+            hints.reflection().registerType(TypeReference.of("org.apache.poi.schemas.ooxml.system.ooxml.TypeSystemHolder"),
+                    MemberCategory.DECLARED_FIELDS);
+            for (String pattern : new String[]{"classpath*:org/openxmlformats/schemas/**/impl/*.class",
+                    "classpath*:com/microsoft/schemas/**/impl/*.class"}) {
+                for (String type : classNames(resolver, readers, pattern)) {
+                    hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+                }
+            }
+        }
+
+        private static List<String> classNames(PathMatchingResourcePatternResolver resolver,
+                                               MetadataReaderFactory readers, String pattern) {
+            try {
+                List<String> names = new ArrayList<>();
+                for (Resource resource : resolver.getResources(pattern)) {
+                    String name = readers.getMetadataReader(resource).getClassMetadata().getClassName();
+                    if (!name.endsWith("package-info")) {
+                        names.add(name);
+                    }
+                }
+                return names;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to scan " + pattern, e);
+            }
+        }
+    }
+}
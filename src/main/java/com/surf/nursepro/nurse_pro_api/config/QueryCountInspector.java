@@ -0,0 +1,21 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread. The count only grows; callers
+ * take {@link #executed()} before and after a unit of work and subtract, so measurements nest.
+ */
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<long[]> EXECUTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long executed() {
+        return EXECUTED.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        EXECUTED.get()[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,122 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surf.nursepro.nurse_pro_api.dto.ApiError;
+import com.surf.nursepro.nurse_pro_api.entity.UserPrincipal;
+import com.surf.nursepro.nurse_pro_api.util.TokenBucketLimiter;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the expensive endpoints (schedule generation, exports, bulk imports) per user, or per
+ * client IP for anonymous callers, so a client in a retry loop cannot starve the rest of the API.
+ * Other requests pass straight through.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<LimitedEndpoint> endpoints = new ArrayList<>();
+
+    private record LimitedEndpoint(String name, RequestPattern pattern, int capacity,
+                                   TokenBucketLimiter limiter, Counter throttled) {
+    }
+
+    public RateLimitFilter(RateLimitProperties properties, JwtUtil jwtUtil, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        properties.getEndpoints().forEach((name, limit) -> endpoints.add(new LimitedEndpoint(
+                name,
+                new RequestPattern(limit.getMethod(), limit.getPaths()),
+                limit.getCapacity(),
+                new TokenBucketLimiter(limit.getCapacity(), limit.getRefillPerMinute(), properties.getStripes()),
+                Counter.builder("http.server.requests.throttled")
+                        .description("Requests rejected by the rate limiter")
+                        .tag("endpoint", name)
+                        .register(meterRegistry))));
+        logger.info("Rate limiting {} for endpoint classes {}", enabled ? "enabled" : "disabled",
+                properties.getEndpoints().keySet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || match(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LimitedEndpoint endpoint = match(request);
+        String client = clientKey(request);
+        long waitNanos = endpoint.limiter().tryAcquire(client);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        endpoint.throttled().increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        logger.warn("Rate limit exceeded on {} by {}, retry after {}s", endpoint.name(), client, retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setHeader("X-RateLimit-Limit", String.valueOf(endpoint.capacity()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ApiError error = new ApiError("Too many requests, retry after " + retryAfter + " seconds",
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), null);
+        response.getWriter().write(objectMapper.writeValueAsString(error));
+    }
+
+    private LimitedEndpoint match(HttpServletRequest request) {
+        for (LimitedEndpoint endpoint : endpoints) {
+            if (endpoint.pattern().matches(request)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "user:" + principal.getUsername();
+        }
+        // Authentication is not enforced on every path, so fall back to reading the bearer token
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            try {
+                String userId = jwtUtil.verify(header.substring(7)).userId();
+                if (userId != null) {
+                    return "user:" + userId;
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rate limiting by IP, bearer token unusable: {}", e.getMessage());
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
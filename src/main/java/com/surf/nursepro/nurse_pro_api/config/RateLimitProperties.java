@@ -0,0 +1,29 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int stripes = 4096;
+    private Map<String, EndpointLimit> endpoints = new LinkedHashMap<>();
+
+    @Setter
+    @Getter
+    public static class EndpointLimit {
+        private String method;
+        private List<String> paths = List.of();
+        private int capacity = 5;
+        private double refillPerMinute = 10;
+    }
+}
@@ -0,0 +1,68 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs one line per request for a sample of requests, plus every server error and every request
+ * slower than {@code app.request-logging.slow-threshold-ms}. Logging all of them at INFO would put
+ * a log event on the queue per request; metrics already count them. Streamed bodies are timed until
+ * the controller returns, not until the last byte is written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private final RequestLoggingProperties properties;
+
+    public RequestLoggingFilter(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!logger.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        long statements = QueryCountInspector.executed();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            int status = response.getStatus();
+            if (status >= 500) {
+                logger.warn("{} {} -> {} in {} ms, {} statements", request.getMethod(), uri(request), status, millis,
+                        QueryCountInspector.executed() - statements);
+            } else if (millis >= properties.getSlowThresholdMs()
+                    || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+                logger.info("{} {} -> {} in {} ms, {} statements", request.getMethod(), uri(request), status, millis,
+                        QueryCountInspector.executed() - statements);
+            }
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+}
@@ -0,0 +1,17 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.request-logging")
+public class RequestLoggingProperties {
+    private boolean enabled = true;
+    // Fraction of ordinary requests logged; server errors and slow requests are always logged
+    private double sampleRate = 0.01;
+    private long slowThresholdMs = 1000;
+}
@@ -0,0 +1,26 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * HTTP method plus Ant-style path patterns identifying one class of endpoints in filter settings.
+ */
+record RequestPattern(String method, List<String> paths) {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    boolean matches(HttpServletRequest request) {
+        if (method != null && !method.equalsIgnoreCase(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : paths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
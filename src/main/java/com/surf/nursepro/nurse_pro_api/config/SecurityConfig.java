@@ -23,6 +23,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private BulkheadFilter bulkheadFilter;
+
     @Autowired
     private CorsProperties corsProperties;
 
@@ -44,7 +50,9 @@ public class SecurityConfig {
                                 "/actuator/**").permitAll()
                         .anyRequest().permitAll()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(bulkheadFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,43 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Logs which thread model serves requests. Virtual threads are opt-in through the {@code virtual}
+ * profile and silently ignored by Spring Boot below Java 21, so a misconfigured deployment is
+ * called out here instead.
+ */
+@Component
+public class ThreadingModeReporter {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private final Environment environment;
+    private final DataSource dataSource;
+
+    public ThreadingModeReporter(Environment environment, DataSource dataSource) {
+        this.environment = environment;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : -1;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Serving requests on virtual threads, database pool size {}", poolSize);
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("Virtual threads requested but Java {} does not support them, serving requests on platform threads",
+                    Runtime.version().feature());
+        } else {
+            logger.info("Serving requests on platform threads, database pool size {}", poolSize);
+        }
+    }
+}
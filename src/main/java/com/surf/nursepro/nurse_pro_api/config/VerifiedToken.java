@@ -0,0 +1,19 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has been checked. Built once per token by
+ * {@link JwtUtil#verify(String)} and safe to share between requests.
+ */
+public record VerifiedToken(String tokenId, String userId, String role, String username, String department,
+                            String type, Instant expiresAt) {
+
+    public boolean isRefresh() {
+        return "refresh".equals(type);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
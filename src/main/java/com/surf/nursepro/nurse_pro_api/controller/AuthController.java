@@ -0,0 +1,32 @@
+package com.surf.nursepro.nurse_pro_api.controller;
+
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.TokenRevocationRequest;
+import com.surf.nursepro.nurse_pro_api.service.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "APIs for managing issued tokens")
+public class AuthController {
+    private final TokenRevocationService tokenRevocationService;
+
+    @PostMapping("/revoke")
+    @Operation(summary = "Revoke a token (the one in the body, or the caller's own bearer token)")
+    public ResponseEntity<ApiResponse<Void>> revoke(
+            @RequestBody(required = false) TokenRevocationRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String token = request != null && request.getToken() != null ? request.getToken()
+                : authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Token is required");
+        }
+        return ResponseEntity.ok(tokenRevocationService.revoke(token));
+    }
+}
@@ -1,16 +1,25 @@
 package com.surf.nursepro.nurse_pro_api.controller;
 
 import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.NurseResponse;
 import com.surf.nursepro.nurse_pro_api.dto.NurseStatus;
 import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.enums.ExperienceLevel;
+import com.surf.nursepro.nurse_pro_api.service.CalendarFeedService;
 import com.surf.nursepro.nurse_pro_api.service.NurseService;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -19,31 +28,47 @@ import java.util.List;
 @Tag(name = "Nurse Management", description = "APIs for managing nurses")
 public class NurseController {
     private final NurseService nurseService;
+    private final CalendarFeedService calendarFeedService;
 
     @PostMapping
     @Operation(summary = "Create a new nurse")
-    public ResponseEntity<ApiResponse<Nurse>> createNurse(@Valid @RequestBody Nurse nurse) {
+    public ResponseEntity<ApiResponse<NurseResponse>> createNurse(@Valid @RequestBody Nurse nurse) {
         return ResponseEntity.ok(nurseService.createNurse(nurse));
     }
 
     @GetMapping
     @Operation(summary = "Get all nurses with optional filters")
-    public ResponseEntity<ApiResponse<List<Nurse>>> getAllNurses(
+    public ResponseEntity<ApiResponse<List<NurseResponse>>> getAllNurses(
             @RequestParam(required = false) String department,
             @RequestParam(required = false) String experienceLevel,
-            @RequestParam(required = false) String specialization) {
-        return ResponseEntity.ok(nurseService.getAllNurses(department, experienceLevel, specialization));
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(nurseService.getAllNurses(department, experienceLevel, specialization, fields));
+    }
+
+    @GetMapping(params = "stream=true")
+    @Operation(summary = "Get all nurses, streamed from the database as they are read")
+    public ResponseEntity<StreamingResponseBody> streamAllNurses(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String experienceLevel,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String fields) {
+        ExperienceLevel level = NurseService.parseExperienceLevel(experienceLevel);
+        FieldSelection selection = FieldSelection.parse(fields, NurseResponse.FIELDS);
+        StreamingResponseBody body = out -> nurseService.streamNurses(department, level, specialization, selection, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get nurse by ID")
-    public ResponseEntity<ApiResponse<Nurse>> getNurseById(@PathVariable String id) {
-        return ResponseEntity.ok(nurseService.getNurseById(id));
+    public ResponseEntity<ApiResponse<NurseResponse>> getNurseById(@PathVariable String id,
+                                                                   @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(nurseService.getNurseById(id, fields));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update nurse details")
-    public ResponseEntity<ApiResponse<Nurse>> updateNurse(@PathVariable String id, @Valid @RequestBody Nurse nurse) {
+    public ResponseEntity<ApiResponse<NurseResponse>> updateNurse(@PathVariable String id, @Valid @RequestBody Nurse nurse) {
         return ResponseEntity.ok(nurseService.updateNurse(id, nurse));
     }
 
@@ -55,7 +80,7 @@ public class NurseController {
 
     @PostMapping("/bulk")
     @Operation(summary = "Bulk upload nurses")
-    public ResponseEntity<ApiResponse<List<Nurse>>> bulkUploadNurses(@Valid @RequestBody List<Nurse> nurses) {
+    public ResponseEntity<ApiResponse<List<NurseResponse>>> bulkUploadNurses(@Valid @RequestBody List<Nurse> nurses) {
         return ResponseEntity.ok(nurseService.bulkUploadNurses(nurses));
     }
 
@@ -64,4 +89,18 @@ public class NurseController {
     public ResponseEntity<ApiResponse<NurseStatus>> getNurseStatus(@PathVariable String id) {
         return ResponseEntity.ok(nurseService.getNurseStatus(id));
     }
+
+    @GetMapping(value = "/{id}/calendar.ics", produces = "text/calendar")
+    @Operation(summary = "Get nurse shift calendar feed (iCalendar)")
+    public ResponseEntity<String> getNurseCalendar(@PathVariable String id, WebRequest webRequest) {
+        CalendarFeedService.CalendarFeed feed = calendarFeedService.getFeed(id);
+        if (webRequest.checkNotModified(feed.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .body(feed.body());
+    }
 }
\ No newline at end of file
@@ -1,21 +1,40 @@
 package com.surf.nursepro.nurse_pro_api.controller;
 
 import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.KeysetPage;
 import com.surf.nursepro.nurse_pro_api.dto.ScheduleGenerationParams;
-import com.surf.nursepro.nurse_pro_api.entity.Schedule;
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleResponse;
+import com.surf.nursepro.nurse_pro_api.dto.ShiftResponse;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalRequest;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalResult;
+import com.surf.nursepro.nurse_pro_api.dto.WorkloadRangeRequest;
+import com.surf.nursepro.nurse_pro_api.dto.WorkloadRangeResult;
+import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
 import com.surf.nursepro.nurse_pro_api.entity.Shift;
 import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
 import com.surf.nursepro.nurse_pro_api.entity.WorkloadData;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictSeverity;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictType;
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import com.surf.nursepro.nurse_pro_api.service.ConflictService;
 import com.surf.nursepro.nurse_pro_api.service.ScheduleService;
+import com.surf.nursepro.nurse_pro_api.service.SwapInboxService;
+import com.surf.nursepro.nurse_pro_api.service.SwapMatchingService;
+import com.surf.nursepro.nurse_pro_api.service.WorkloadService;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,28 +44,40 @@ import java.util.stream.Collectors;
 @Tag(name = "Schedule Management", description = "APIs for managing schedules and shifts")
 public class ScheduleController {
     private final ScheduleService scheduleService;
+    private final WorkloadService workloadService;
+    private final ConflictService conflictService;
+    private final SwapMatchingService swapMatchingService;
+    private final SwapInboxService swapInboxService;
 
     @GetMapping
     @Operation(summary = "Get all schedules")
-    public ResponseEntity<ApiResponse<List<Schedule>>> getSchedules() {
-        return ResponseEntity.ok(scheduleService.fetchSchedules());
+    public ResponseEntity<ApiResponse<List<ScheduleResponse>>> getSchedules(@RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(scheduleService.fetchSchedules(fields));
+    }
+
+    @GetMapping(params = "stream=true")
+    @Operation(summary = "Get all schedules, streamed from the database as they are read")
+    public ResponseEntity<StreamingResponseBody> streamSchedules(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ScheduleResponse.FIELDS);
+        StreamingResponseBody body = out -> scheduleService.streamSchedules(selection, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PostMapping("/generate")
     @Operation(summary = "Generate new schedule")
-    public ResponseEntity<ApiResponse<Schedule>> generateSchedule(@Valid @RequestBody ScheduleGenerationParams params) {
+    public ResponseEntity<ApiResponse<ScheduleResponse>> generateSchedule(@Valid @RequestBody ScheduleGenerationParams params) {
         return ResponseEntity.ok(scheduleService.generateSchedule(params));
     }
 
     @PostMapping("/shifts")
     @Operation(summary = "Create new shift")
-    public ResponseEntity<ApiResponse<Shift>> createShift(@Valid @RequestBody Shift shift) {
+    public ResponseEntity<ApiResponse<ShiftResponse>> createShift(@Valid @RequestBody Shift shift) {
         return ResponseEntity.ok(scheduleService.createShift(shift));
     }
 
     @PutMapping("/shifts/{shiftId}")
     @Operation(summary = "Update shift")
-    public ResponseEntity<ApiResponse<Shift>> updateShift(@PathVariable String shiftId, @Valid @RequestBody Shift shift) {
+    public ResponseEntity<ApiResponse<ShiftResponse>> updateShift(@PathVariable String shiftId, @Valid @RequestBody Shift shift) {
         return ResponseEntity.ok(scheduleService.updateShift(shiftId, shift));
     }
 
@@ -56,12 +87,54 @@ public class ScheduleController {
         return ResponseEntity.ok(scheduleService.deleteShift(shiftId));
     }
 
+    @GetMapping("/{scheduleId}/conflicts")
+    @Operation(summary = "Get conflicts of a schedule, newest first, with counts per severity and type")
+    public ResponseEntity<ApiResponse<KeysetPage<ScheduleConflict>>> getScheduleConflicts(
+            @PathVariable String scheduleId,
+            @RequestParam(required = false) ScheduleConflictSeverity severity,
+            @RequestParam(required = false) ScheduleConflictType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(conflictService.getScheduleConflicts(scheduleId, severity, type, cursor, limit));
+    }
+
+    @GetMapping("/shifts/{shiftId}/conflicts")
+    @Operation(summary = "Get conflicts of a shift")
+    public ResponseEntity<ApiResponse<List<ScheduleConflict>>> getShiftConflicts(@PathVariable String shiftId) {
+        return ResponseEntity.ok(conflictService.getShiftConflicts(shiftId));
+    }
+
+    @GetMapping("/swap-requests")
+    @Operation(summary = "Swap request inbox, newest first, with totals per status")
+    public ResponseEntity<ApiResponse<KeysetPage<SwapRequest>>> getSwapRequests(
+            @RequestParam(required = false) SwapRequestStatus status,
+            @RequestParam(required = false) String requesterId,
+            @RequestParam(required = false) String targetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(swapInboxService.getInbox(status, requesterId, targetId, from, to, cursor, limit));
+    }
+
     @PostMapping("/swap-requests")
     @Operation(summary = "Create swap request")
     public ResponseEntity<ApiResponse<SwapRequest>> createSwapRequest(@Valid @RequestBody SwapRequest request) {
         return ResponseEntity.ok(scheduleService.createSwapRequest(request));
     }
 
+    @PostMapping("/swap-requests/auto-match")
+    @Operation(summary = "Find counterparts for all pending swap requests without one")
+    public ResponseEntity<ApiResponse<List<SwapRequest>>> autoMatchSwapRequests() {
+        return ResponseEntity.ok(swapMatchingService.autoMatch());
+    }
+
+    @PostMapping("/swap-requests/approve")
+    @Operation(summary = "Approve and apply many swap requests in one transaction")
+    public ResponseEntity<ApiResponse<SwapApprovalResult>> approveSwapRequests(@RequestBody SwapApprovalRequest approval) {
+        return ResponseEntity.ok(scheduleService.approveSwapRequests(approval));
+    }
+
     @PutMapping("/swap-requests/{requestId}/approve")
     @Operation(summary = "Approve swap request")
     public ResponseEntity<ApiResponse<SwapRequest>> approveSwapRequest(@PathVariable String requestId) {
@@ -83,12 +156,21 @@ public class ScheduleController {
         return ResponseEntity.ok(scheduleService.getWorkloadData(nurseId, month, year));
     }
 
+    @PostMapping("/workload/query")
+    @Operation(summary = "Get monthly and yearly workload for many nurses or a department over a month range")
+    public ResponseEntity<ApiResponse<WorkloadRangeResult>> queryWorkload(@RequestBody WorkloadRangeRequest request) {
+        return ResponseEntity.ok(workloadService.getWorkloadRange(request));
+    }
+
     @GetMapping("/export")
     @Operation(summary = "Export schedules for specified months and year")
-    public ResponseEntity<byte[]> exportSchedules(
+    public ResponseEntity<StreamingResponseBody> exportSchedules(
             @RequestParam List<Integer> months,
             @RequestParam int year,
             @RequestParam String format) {
+        if (ScheduleService.isStreamingFormat(format)) {
+            return streamSchedules(months, year, format);
+        }
         ApiResponse<byte[]> response = scheduleService.exportSchedules(months, year, format);
         String fileName = format.equalsIgnoreCase("pdf") ?
                 "schedules-" + year + "-" + months.stream().map(String::valueOf).collect(Collectors.joining("_")) + ".pdf" :
@@ -96,6 +178,18 @@ public class ScheduleController {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
                 .contentType(format.equalsIgnoreCase("pdf") ? MediaType.APPLICATION_PDF : MediaType.APPLICATION_OCTET_STREAM)
-                .body(response.getData());
+                .body(out -> out.write(response.getData()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamSchedules(List<Integer> months, int year, String format) {
+        scheduleService.validateStreamingExport(months, year, format);
+        boolean csv = format.equalsIgnoreCase("csv");
+        String fileName = "schedules-" + year + "-" + months.stream().map(String::valueOf).collect(Collectors.joining("_"))
+                + (csv ? ".csv" : ".ndjson");
+        StreamingResponseBody body = out -> scheduleService.streamAssignments(months, year, format, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page;
+ * {@code counts} holds totals per group (e.g. {@code severity -> high -> 3}) over the whole
+ * unfiltered listing. Listings whose totals take a query return them on the first page only.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private Map<String, Map<String, Long>> counts;
+}
@@ -0,0 +1,64 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.enums.ExperienceLevel;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@JsonFilter(FieldSelection.FILTER_ID)
+public class NurseResponse {
+    public static final Set<String> FIELDS = Set.of("id", "firstName", "lastName", "email", "phone", "department",
+            "specializations", "experienceLevel", "maxHoursPerWeek", "preferredShifts", "unavailableDates",
+            "createdAt", "updatedAt");
+
+    private String id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String department;
+    private List<String> specializations;
+    private ExperienceLevel experienceLevel;
+    private int maxHoursPerWeek;
+    private List<String> preferredShifts;
+    private List<LocalDate> unavailableDates;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Collections are copied only when selected, so unselected ones are never loaded
+    public static NurseResponse from(Nurse nurse, FieldSelection fields) {
+        NurseResponse response = new NurseResponse();
+        response.setId(nurse.getId());
+        response.setFirstName(nurse.getFirstName());
+        response.setLastName(nurse.getLastName());
+        response.setEmail(nurse.getEmail());
+        response.setPhone(nurse.getPhone());
+        response.setDepartment(nurse.getDepartment());
+        response.setExperienceLevel(nurse.getExperienceLevel());
+        response.setMaxHoursPerWeek(nurse.getMaxHoursPerWeek());
+        response.setCreatedAt(nurse.getCreatedAt());
+        response.setUpdatedAt(nurse.getUpdatedAt());
+        if (fields.includes("specializations")) {
+            response.setSpecializations(copy(nurse.getSpecializations()));
+        }
+        if (fields.includes("preferredShifts")) {
+            response.setPreferredShifts(copy(nurse.getPreferredShifts()));
+        }
+        if (fields.includes("unavailableDates")) {
+            response.setUnavailableDates(copy(nurse.getUnavailableDates()));
+        }
+        return response;
+    }
+
+    static <T> List<T> copy(List<T> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+}
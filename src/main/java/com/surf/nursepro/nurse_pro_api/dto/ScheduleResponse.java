@@ -0,0 +1,39 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.surf.nursepro.nurse_pro_api.entity.Schedule;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleStatus;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@JsonFilter(FieldSelection.FILTER_ID)
+public class ScheduleResponse {
+    public static final Set<String> FIELDS = Set.of("id", "month", "year", "shifts", "generatedAt", "status");
+
+    private String id;
+    private int month;
+    private int year;
+    private List<ShiftResponse> shifts;
+    private LocalDateTime generatedAt;
+    private ScheduleStatus status;
+
+    public static ScheduleResponse from(Schedule schedule, FieldSelection fields) {
+        ScheduleResponse response = new ScheduleResponse();
+        response.setId(schedule.getId());
+        response.setMonth(schedule.getMonth());
+        response.setYear(schedule.getYear());
+        response.setGeneratedAt(schedule.getGeneratedAt());
+        response.setStatus(schedule.getStatus());
+        if (fields.includes("shifts") && schedule.getShifts() != null) {
+            response.setShifts(schedule.getShifts().stream()
+                    .map(shift -> ShiftResponse.from(shift, FieldSelection.ALL))
+                    .toList());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class ShiftAssignmentRow {
+    private LocalDate date;
+    private ShiftType type;
+    private String startTime;
+    private String endTime;
+    private String department;
+    private String nurseId;
+    private String firstName;
+    private String lastName;
+
+    public String getNurseName() {
+        if (firstName == null && lastName == null) {
+            return "Unknown";
+        }
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,48 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@JsonFilter(FieldSelection.FILTER_ID)
+public class ShiftResponse {
+    public static final Set<String> FIELDS = Set.of("id", "version", "date", "startTime", "endTime", "type",
+            "department", "requiredStaff", "assignedNurses", "requirements");
+
+    private String id;
+    private long version;
+    private LocalDate date;
+    private String startTime;
+    private String endTime;
+    private ShiftType type;
+    private String department;
+    private int requiredStaff;
+    private List<String> assignedNurses;
+    private List<String> requirements;
+
+    public static ShiftResponse from(Shift shift, FieldSelection fields) {
+        ShiftResponse response = new ShiftResponse();
+        response.setId(shift.getId());
+        response.setVersion(shift.getVersion());
+        response.setDate(shift.getDate());
+        response.setStartTime(shift.getStartTime());
+        response.setEndTime(shift.getEndTime());
+        response.setType(shift.getType());
+        response.setDepartment(shift.getDepartment());
+        response.setRequiredStaff(shift.getRequiredStaff());
+        if (fields.includes("assignedNurses")) {
+            response.setAssignedNurses(NurseResponse.copy(shift.getAssignedNurses()));
+        }
+        if (fields.includes("requirements")) {
+            response.setRequirements(NurseResponse.copy(shift.getRequirements()));
+        }
+        return response;
+    }
+}
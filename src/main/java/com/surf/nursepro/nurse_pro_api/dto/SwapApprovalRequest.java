@@ -0,0 +1,10 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SwapApprovalRequest {
+    private List<String> requestIds;
+}
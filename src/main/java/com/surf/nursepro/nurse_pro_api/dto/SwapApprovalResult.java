@@ -0,0 +1,19 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batch approval: the applied requests and, per request ID, why the others
+ * were left untouched.
+ */
+@Data
+@AllArgsConstructor
+public class SwapApprovalResult {
+    private List<SwapRequest> approved;
+    private Map<String, String> failures;
+}
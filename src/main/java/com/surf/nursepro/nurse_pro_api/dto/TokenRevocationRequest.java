@@ -0,0 +1,8 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import lombok.Data;
+
+@Data
+public class TokenRevocationRequest {
+    private String token;
+}
@@ -0,0 +1,15 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WorkloadRangeRequest {
+    private List<String> nurseIds;
+    private String department;
+    private int fromMonth;
+    private int fromYear;
+    private int toMonth;
+    private int toYear;
+}
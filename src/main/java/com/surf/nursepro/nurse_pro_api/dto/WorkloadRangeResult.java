@@ -0,0 +1,15 @@
+package com.surf.nursepro.nurse_pro_api.dto;
+
+import com.surf.nursepro.nurse_pro_api.entity.WorkloadData;
+import com.surf.nursepro.nurse_pro_api.entity.YearlyWorkload;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class WorkloadRangeResult {
+    private List<WorkloadData> monthly;
+    private List<YearlyWorkload> yearly;
+}
@@ -3,6 +3,7 @@ package com.surf.nursepro.nurse_pro_api.entity;
 import com.surf.nursepro.nurse_pro_api.enums.ExperienceLevel;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,6 +25,7 @@ public class Nurse {
     private String department;
 
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> specializations;
 
     @Enumerated(EnumType.STRING)
@@ -32,9 +34,11 @@ public class Nurse {
     private int maxHoursPerWeek;
 
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> preferredShifts;
 
     @ElementCollection
+    @BatchSize(size = 100)
     private List<LocalDate> unavailableDates;
 
     private LocalDateTime createdAt;
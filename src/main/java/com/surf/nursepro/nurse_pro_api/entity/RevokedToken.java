@@ -0,0 +1,20 @@
+package com.surf.nursepro.nurse_pro_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_token_expires", columnList = "expiresAt"),
+        @Index(name = "idx_revoked_token_revoked", columnList = "revokedAt")
+})
+public class RevokedToken {
+    @Id
+    private String tokenId;
+    private String userId;
+    private LocalDateTime expiresAt;
+    private LocalDateTime revokedAt;
+}
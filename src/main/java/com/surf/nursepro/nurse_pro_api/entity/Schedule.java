@@ -3,6 +3,8 @@ package com.surf.nursepro.nurse_pro_api.entity;
 import com.surf.nursepro.nurse_pro_api.enums.ScheduleStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,6 +19,7 @@ public class Schedule {
     private int year;
 
     @OneToMany(cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<Shift> shifts;
 
     private LocalDateTime generatedAt;
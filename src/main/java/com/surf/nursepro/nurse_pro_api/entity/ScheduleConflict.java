@@ -4,11 +4,20 @@ import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictSeverity;
 import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictType;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Data
 @Entity
-@Table(name = "schedule_conflicts")
+@Table(name = "schedule_conflicts", indexes = {
+        @Index(name = "idx_conflict_shift", columnList = "shiftId"),
+        @Index(name = "idx_conflict_nurse", columnList = "nurseId"),
+        @Index(name = "idx_conflict_schedule_severity", columnList = "scheduleId, severity"),
+        @Index(name = "idx_conflict_schedule_created", columnList = "scheduleId, createdAt, id")
+})
 public class ScheduleConflict {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -20,10 +29,20 @@ public class ScheduleConflict {
     @Enumerated(EnumType.STRING)
     private ScheduleConflictSeverity severity;
 
+    private String scheduleId;
     private String shiftId;
     private String nurseId;
     private String message;
 
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> suggestions;
-}
\ No newline at end of file
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        // Truncated to what the column stores, so keyset cursors compare exactly
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
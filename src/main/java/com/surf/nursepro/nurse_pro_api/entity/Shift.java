@@ -3,17 +3,24 @@ package com.surf.nursepro.nurse_pro_api.entity;
 import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @Entity
-@Table(name = "shifts")
+@Table(name = "shifts", indexes = @Index(name = "idx_shift_date", columnList = "date"))
 public class Shift {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
+
+    @Version
+    private long version;
+
     private LocalDate date;
     private String startTime;
     private String endTime;
@@ -25,8 +32,17 @@ public class Shift {
     private int requiredStaff;
 
     @ElementCollection
+    @CollectionTable(name = "shift_assigned_nurses",
+            indexes = @Index(name = "idx_shift_assigned_nurse", columnList = "assigned_nurses"))
+    @Column(name = "assigned_nurses")
+    @BatchSize(size = 100)
     private List<String> assignedNurses;
 
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> requirements;
+
+    // Set on insert and on every update; null for rows written before the column existed
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "swap_requests")
+@Table(name = "swap_requests", indexes = {
+        @Index(name = "idx_swap_status_created", columnList = "status, createdAt, id"),
+        @Index(name = "idx_swap_requester", columnList = "requesterId"),
+        @Index(name = "idx_swap_target", columnList = "targetId")
+})
 public class SwapRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,40 @@
+package com.surf.nursepro.nurse_pro_api.entity;
+
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One stripe of the number of swap requests per status, kept in step with every status change
+ * so the inbox never has to count the swap_requests table. A status is the sum of its stripes;
+ * changes go to a random stripe, so concurrent swap writes rarely wait on the same row lock.
+ * Stripe 0 holds the count taken when the counters were first seeded.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@IdClass(SwapRequestCounter.Key.class)
+@Table(name = "swap_request_count_stripes")
+public class SwapRequestCounter {
+    @Id
+    @Enumerated(EnumType.STRING)
+    private SwapRequestStatus status;
+
+    @Id
+    private int stripe;
+
+    @Column(name = "request_count")
+    private long count;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private SwapRequestStatus status;
+        private int stripe;
+    }
+}
@@ -6,7 +6,8 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "workload_data")
+@Table(name = "workload_data",
+        uniqueConstraints = @UniqueConstraint(name = "uk_workload_nurse_month", columnNames = {"nurseId", "month", "year"}))
 public class WorkloadData {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
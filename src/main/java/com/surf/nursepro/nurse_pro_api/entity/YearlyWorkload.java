@@ -0,0 +1,24 @@
+package com.surf.nursepro.nurse_pro_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "workload_yearly",
+        uniqueConstraints = @UniqueConstraint(name = "uk_workload_yearly_nurse_year", columnNames = {"nurseId", "year"}))
+public class YearlyWorkload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+    private String nurseId;
+    private int year;
+    private double totalHours;
+    private int shiftsCount;
+    private double overtimeHours;
+    private int nightShifts;
+    private int weekendShifts;
+    private int consecutiveDays;
+    private LocalDateTime updatedAt;
+}
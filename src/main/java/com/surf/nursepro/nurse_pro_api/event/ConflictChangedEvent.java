@@ -0,0 +1,18 @@
+package com.surf.nursepro.nurse_pro_api.event;
+
+import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published when stored conflicts change. {@code raised} holds new and updated conflicts,
+ * {@code resolved} the ones that were deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class ConflictChangedEvent {
+    private final List<ScheduleConflict> raised;
+    private final List<ScheduleConflict> resolved;
+}
@@ -0,0 +1,21 @@
+package com.surf.nursepro.nurse_pro_api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published whenever shift assignments change. {@code nurseIds} holds every nurse whose
+ * roster is affected, i.e. assigned before or after the change.
+ */
+@Getter
+@AllArgsConstructor
+public class ShiftChangedEvent {
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    private final String shiftId;
+    private final Action action;
+    private final Set<String> nurseIds;
+}
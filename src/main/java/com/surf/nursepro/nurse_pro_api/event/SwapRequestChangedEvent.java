@@ -0,0 +1,17 @@
+package com.surf.nursepro.nurse_pro_api.event;
+
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a swap request is created or changes status.
+ */
+@Getter
+@AllArgsConstructor
+public class SwapRequestChangedEvent {
+    private final String requestId;
+    private final SwapRequestStatus status;
+    private final String requesterId;
+    private final String targetId;
+}
@@ -2,15 +2,41 @@ package com.surf.nursepro.nurse_pro_api.repository;
 
 import com.surf.nursepro.nurse_pro_api.entity.Nurse;
 import com.surf.nursepro.nurse_pro_api.enums.ExperienceLevel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface NurseRepository extends JpaRepository<Nurse, String>, JpaSpecificationExecutor<Nurse> {
     List<Nurse> findByDepartment(String department);
+    List<Nurse> findByDepartmentIn(Collection<String> departments);
     List<Nurse> findByExperienceLevel(ExperienceLevel experienceLevel);
     List<Nurse> findBySpecializationsContaining(String specialization);
+
+    @Query("select n.id from Nurse n where n.department = :department")
+    List<String> findIdsByDepartment(@Param("department") String department);
+
+    // Same filters as the nurse listing, read through a server-side cursor; null parameters match everything
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select n from Nurse n " +
+            "where (:department is null or n.department = :department) " +
+            "and (:experienceLevel is null or n.experienceLevel = :experienceLevel) " +
+            "and (:specialization is null or exists (" +
+            "select 1 from Nurse m join m.specializations s where m = n and lower(s) like :specialization)) " +
+            "order by n.id")
+    Stream<Nurse> streamAll(@Param("department") String department,
+                            @Param("experienceLevel") ExperienceLevel experienceLevel,
+                            @Param("specialization") String specializationPattern);
 }
\ No newline at end of file
@@ -1,9 +1,47 @@
 package com.surf.nursepro.nurse_pro_api.repository;
 
 import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictSeverity;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ScheduleConflictRepository extends JpaRepository<ScheduleConflict, String> {
-}
\ No newline at end of file
+    List<ScheduleConflict> findByShiftId(String shiftId);
+
+    List<ScheduleConflict> findByShiftIdIn(Collection<String> shiftIds);
+
+    // Keyset page over (createdAt desc, id desc); pass null cursor values for the first page
+    @Query("select c from ScheduleConflict c where c.scheduleId = :scheduleId " +
+            "and (:severity is null or c.severity = :severity) " +
+            "and (:type is null or c.type = :type) " +
+            "and (:createdAt is null or c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id)) " +
+            "order by c.createdAt desc, c.id desc")
+    List<ScheduleConflict> findPage(@Param("scheduleId") String scheduleId,
+                                    @Param("severity") ScheduleConflictSeverity severity,
+                                    @Param("type") ScheduleConflictType type,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") String id,
+                                    Pageable pageable);
+
+    // Attaches conflicts of shifts that belong to no schedule to the schedule of their month
+    @Modifying(flushAutomatically = true)
+    @Query("update ScheduleConflict c set c.scheduleId = :scheduleId where c.scheduleId is null " +
+            "and c.shiftId in (select s.id from Shift s where s.date between :from and :to)")
+    int assignSchedule(@Param("scheduleId") String scheduleId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Rows of severity, type, count
+    @Query("select c.severity, c.type, count(c) from ScheduleConflict c where c.scheduleId = :scheduleId " +
+            "group by c.severity, c.type")
+    List<Object[]> countBySeverityAndType(@Param("scheduleId") String scheduleId);
+}
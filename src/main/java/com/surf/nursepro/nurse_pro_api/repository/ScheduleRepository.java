@@ -1,16 +1,57 @@
 package com.surf.nursepro.nurse_pro_api.repository;
 
+import com.surf.nursepro.nurse_pro_api.dto.ShiftAssignmentRow;
 import com.surf.nursepro.nurse_pro_api.entity.Schedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, String> {
     Optional<Schedule> findByMonthAndYear(int month, int year);
 
     boolean existsByMonthAndYear(int month, int year);
+
+    @Query("select sc.id from Schedule sc where sc.month = :month and sc.year = :year")
+    List<String> findIdsByMonthAndYear(@Param("month") int month, @Param("year") int year);
+
+    // Rows of schedule id, month, year
+    @Query("select sc.id, sc.month, sc.year from Schedule sc")
+    List<Object[]> findPeriods();
     List<Schedule> findByMonthInAndYear(List<Integer> months, int year);
-}
\ No newline at end of file
+
+    @Query("select sc from Schedule sc join sc.shifts s where s.id = :shiftId")
+    Optional<Schedule> findByShiftId(@Param("shiftId") String shiftId);
+
+    // Rows of shift id, schedule id
+    @Query("select s.id, sc.id from Schedule sc join sc.shifts s where s.id in :shiftIds")
+    List<Object[]> findScheduleIdsByShiftIds(@Param("shiftIds") Collection<String> shiftIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select sc from Schedule sc order by sc.year, sc.month, sc.id")
+    Stream<Schedule> streamAll();
+
+    // One row per nurse assignment, read through a server-side cursor (useCursorFetch=true on MySQL)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.surf.nursepro.nurse_pro_api.dto.ShiftAssignmentRow(" +
+            "s.date, s.type, s.startTime, s.endTime, s.department, a, n.firstName, n.lastName) " +
+            "from Schedule sc join sc.shifts s join s.assignedNurses a left join Nurse n on n.id = a " +
+            "where sc.year = :year and sc.month in :months " +
+            "order by s.date, s.type, a")
+    Stream<ShiftAssignmentRow> streamAssignments(@Param("months") List<Integer> months, @Param("year") int year);
+}
@@ -2,8 +2,34 @@ package com.surf.nursepro.nurse_pro_api.repository;
 
 import com.surf.nursepro.nurse_pro_api.entity.Shift;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ShiftRepository extends JpaRepository<Shift, String> {
-}
\ No newline at end of file
+    List<Shift> findByDateBetween(LocalDate from, LocalDate to);
+
+    @Query("select s from Shift s join s.assignedNurses a where a = :nurseId order by s.date, s.startTime")
+    List<Shift> findByAssignedNurse(@Param("nurseId") String nurseId);
+
+    @Query("select s from Shift s join s.assignedNurses a where a = :nurseId and s.date between :from and :to " +
+            "order by s.date, s.startTime")
+    List<Shift> findByAssignedNurseAndDateBetween(@Param("nurseId") String nurseId,
+                                                  @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select distinct s from Shift s join s.assignedNurses a where a in :nurseIds " +
+            "and s.date between :from and :to")
+    List<Shift> findByAssignedNurseInAndDateBetween(@Param("nurseIds") Collection<String> nurseIds,
+                                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Columns: nurseId, date; one row per nurse and day worked
+    @Query("select distinct a, s.date from Shift s join s.assignedNurses a where a in :nurseIds " +
+            "and s.date between :from and :to order by a, s.date")
+    List<Object[]> findWorkDaysByNurseIn(@Param("nurseIds") Collection<String> nurseIds,
+                                         @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
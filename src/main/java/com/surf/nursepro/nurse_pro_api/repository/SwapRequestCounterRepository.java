@@ -0,0 +1,37 @@
+package com.surf.nursepro.nurse_pro_api.repository;
+
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequestCounter;
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SwapRequestCounterRepository extends JpaRepository<SwapRequestCounter, SwapRequestCounter.Key> {
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into swap_request_count_stripes (status, stripe, request_count) values (:status, :stripe, :delta) " +
+            "on duplicate key update request_count = request_count + :delta", nativeQuery = true)
+    int increment(@Param("status") String status, @Param("stripe") int stripe, @Param("delta") long delta);
+
+    // Insert if absent: of several instances seeding at once, the first row wins and the rest change nothing.
+    // The count and the changes already on other stripes are read by the insert itself, so a request
+    // created meanwhile is either in both or in neither.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into swap_request_count_stripes (status, stripe, request_count) " +
+            "select :status, 0, (select count(*) from swap_requests r where r.status = :status) " +
+            "- coalesce((select sum(c.request_count) from swap_request_count_stripes c " +
+            "where c.status = :status and c.stripe > 0), 0) " +
+            "on duplicate key update request_count = request_count", nativeQuery = true)
+    int seed(@Param("status") String status);
+
+    // Rows of status, count
+    @Query("select c.status, sum(c.count) from SwapRequestCounter c group by c.status")
+    List<Object[]> sumByStatus();
+
+    @Query("select c.status from SwapRequestCounter c where c.stripe = 0")
+    List<SwapRequestStatus> findSeededStatuses();
+}
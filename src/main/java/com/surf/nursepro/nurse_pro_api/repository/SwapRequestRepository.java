@@ -2,12 +2,35 @@ package com.surf.nursepro.nurse_pro_api.repository;
 
 import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
 import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface SwapRequestRepository extends JpaRepository<SwapRequest, String> {
     List<SwapRequest> findByStatus(SwapRequestStatus status);
-}
\ No newline at end of file
+
+    List<SwapRequest> findByStatusAndRequesterIdAndShiftId(SwapRequestStatus status, String requesterId, String shiftId);
+
+    // Keyset page over (createdAt desc, id desc); pass null cursor values for the first page
+    @Query("select r from SwapRequest r where r.status = :status " +
+            "and (:requesterId is null or r.requesterId = :requesterId) " +
+            "and (:targetId is null or r.targetId = :targetId) " +
+            "and (:from is null or r.createdAt >= :from) " +
+            "and (:to is null or r.createdAt < :to) " +
+            "and (:createdAt is null or r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id)) " +
+            "order by r.createdAt desc, r.id desc")
+    List<SwapRequest> findInboxPage(@Param("status") SwapRequestStatus status,
+                                    @Param("requesterId") String requesterId,
+                                    @Param("targetId") String targetId,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") String id,
+                                    Pageable pageable);
+}
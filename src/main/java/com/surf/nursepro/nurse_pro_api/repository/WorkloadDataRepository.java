@@ -2,11 +2,64 @@ package com.surf.nursepro.nurse_pro_api.repository;
 
 import com.surf.nursepro.nurse_pro_api.entity.WorkloadData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface WorkloadDataRepository extends JpaRepository<WorkloadData, String> {
     List<WorkloadData> findByNurseIdAndMonthAndYear(String nurseId, int month, int year);
-}
\ No newline at end of file
+
+    List<WorkloadData> findByMonthAndYear(int month, int year);
+
+    // Adds to the row or creates it; atomic on the unique key, so concurrent first assignments both count
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into workload_data (id, nurse_id, month, year, shifts_count, total_hours, overtime_hours, " +
+            "night_shifts, weekend_shifts, consecutive_days, created_at, updated_at) " +
+            "values (:id, :nurseId, :month, :year, :shifts, :hours, 0, :nights, :weekends, 0, :now, :now) " +
+            "on duplicate key update shifts_count = shifts_count + :shifts, total_hours = total_hours + :hours, " +
+            "night_shifts = night_shifts + :nights, weekend_shifts = weekend_shifts + :weekends, updated_at = :now",
+            nativeQuery = true)
+    int upsertDelta(@Param("id") String id, @Param("nurseId") String nurseId, @Param("month") int month,
+                    @Param("year") int year, @Param("shifts") int shifts, @Param("hours") double hours,
+                    @Param("nights") int nights, @Param("weekends") int weekends, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from WorkloadData w where w.nurseId = :nurseId and w.month = :month and w.year = :year " +
+            "and w.shiftsCount <= 0")
+    int deleteIfEmpty(@Param("nurseId") String nurseId, @Param("month") int month, @Param("year") int year);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update WorkloadData w set w.shiftsCount = w.shiftsCount + :shifts, w.totalHours = w.totalHours + :hours, " +
+            "w.nightShifts = w.nightShifts + :nights, w.weekendShifts = w.weekendShifts + :weekends, w.updatedAt = :now " +
+            "where w.nurseId = :nurseId and w.month = :month and w.year = :year")
+    int applyDelta(@Param("nurseId") String nurseId, @Param("month") int month, @Param("year") int year,
+                   @Param("shifts") int shifts, @Param("hours") double hours,
+                   @Param("nights") int nights, @Param("weekends") int weekends,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update WorkloadData w set w.overtimeHours = :overtime, w.consecutiveDays = :consecutive " +
+            "where w.nurseId = :nurseId and w.month = :month and w.year = :year")
+    int updateDerived(@Param("nurseId") String nurseId, @Param("month") int month, @Param("year") int year,
+                      @Param("overtime") double overtime, @Param("consecutive") int consecutive);
+
+    @Query("select w from WorkloadData w where w.nurseId in :nurseIds " +
+            "and (w.year > :fromYear or (w.year = :fromYear and w.month >= :fromMonth)) " +
+            "and (w.year < :toYear or (w.year = :toYear and w.month <= :toMonth)) " +
+            "order by w.nurseId, w.year, w.month")
+    List<WorkloadData> findByNurseIdInAndPeriodBetween(@Param("nurseIds") Collection<String> nurseIds,
+                                                       @Param("fromYear") int fromYear, @Param("fromMonth") int fromMonth,
+                                                       @Param("toYear") int toYear, @Param("toMonth") int toMonth);
+
+    // Columns: nurseId, totalHours, shiftsCount, overtimeHours, nightShifts, weekendShifts
+    @Query("select w.nurseId, sum(w.totalHours), sum(w.shiftsCount), sum(w.overtimeHours), sum(w.nightShifts), " +
+            "sum(w.weekendShifts) from WorkloadData w " +
+            "where w.nurseId in :nurseIds and w.year = :year group by w.nurseId")
+    List<Object[]> sumByNurseForYear(@Param("nurseIds") Collection<String> nurseIds, @Param("year") int year);
+}
@@ -0,0 +1,16 @@
+package com.surf.nursepro.nurse_pro_api.repository;
+
+import com.surf.nursepro.nurse_pro_api.entity.YearlyWorkload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface YearlyWorkloadRepository extends JpaRepository<YearlyWorkload, String> {
+    List<YearlyWorkload> findByNurseIdInAndYear(Collection<String> nurseIds, int year);
+
+    List<YearlyWorkload> findByNurseIdInAndYearBetweenOrderByNurseIdAscYearAsc(Collection<String> nurseIds,
+                                                                               int fromYear, int toYear);
+}
@@ -0,0 +1,169 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.event.ShiftChangedEvent;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.util.ShiftTimes;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves per-nurse iCalendar feeds. Rendered feeds are cached until one of the nurse's
+ * shifts changes, so calendar polling does not touch the shifts table. The cache keeps the
+ * most recently used {@code calendar.feed.cache-size} nurses, each for at most
+ * {@code calendar.feed.cache-ttl-minutes}, which also bounds how long another instance's
+ * shift edits can go unseen.
+ */
+@Service
+@RequiredArgsConstructor
+public class CalendarFeedService {
+    private static final Logger logger = LoggerFactory.getLogger(CalendarFeedService.class);
+
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String CRLF = "\r\n";
+
+    private final ShiftRepository shiftRepository;
+    private final NurseRepository nurseRepository;
+
+    @Value("${calendar.feed.cache-size:2000}")
+    private int cacheSize;
+
+    @Value("${calendar.feed.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    // Guarded by itself; iterates least recently used first
+    private final Map<String, CachedFeed> feeds = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedFeed> eldest) {
+            return size() > cacheSize;
+        }
+    };
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public record CalendarFeed(String body, String etag) {
+    }
+
+    private record CachedFeed(CalendarFeed feed, long renderedAt) {
+    }
+
+    @Transactional(readOnly = true)
+    public CalendarFeed getFeed(String nurseId) {
+        if (nurseId == null) {
+            throw new IllegalArgumentException("Invalid nurse ID");
+        }
+        CalendarFeed cached = cached(nurseId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // A shift change committed while rendering must not be overwritten by the stale render
+        long generation = invalidations.get();
+        if (!nurseRepository.existsById(nurseId)) {
+            logger.warn("Calendar feed requested for unknown nurse: {}", nurseId);
+            throw new IllegalArgumentException("Nurse not found");
+        }
+        CalendarFeed feed = render(nurseId, shiftRepository.findByAssignedNurse(nurseId));
+        synchronized (feeds) {
+            if (invalidations.get() == generation) {
+                feeds.put(nurseId, new CachedFeed(feed, System.nanoTime()));
+            }
+        }
+        logger.debug("Rendered calendar feed for nurse {}", nurseId);
+        return feed;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShiftChanged(ShiftChangedEvent event) {
+        synchronized (feeds) {
+            invalidations.incrementAndGet();
+            event.getNurseIds().forEach(feeds::remove);
+        }
+    }
+
+    private CalendarFeed cached(String nurseId) {
+        synchronized (feeds) {
+            CachedFeed cached = feeds.get(nurseId);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.renderedAt() > TimeUnit.MINUTES.toNanos(cacheTtlMinutes)) {
+                feeds.remove(nurseId);
+                return null;
+            }
+            return cached.feed();
+        }
+    }
+
+    /**
+     * Renders the feed from the shifts alone, so the same shifts always give the same body and ETag.
+     */
+    private CalendarFeed render(String nurseId, List<Shift> shifts) {
+        StringBuilder ics = new StringBuilder(256 + shifts.size() * 256);
+        ics.append("BEGIN:VCALENDAR").append(CRLF)
+                .append("VERSION:2.0").append(CRLF)
+                .append("PRODID:-//Nurse Pro//Shift Calendar//EN").append(CRLF)
+                .append("CALSCALE:GREGORIAN").append(CRLF)
+                .append("METHOD:PUBLISH").append(CRLF)
+                .append("X-WR-CALNAME:Nurse Pro shifts").append(CRLF);
+
+        for (Shift shift : shifts) {
+            ics.append("BEGIN:VEVENT").append(CRLF)
+                    .append("UID:").append(shift.getId()).append('-').append(nurseId).append("@nursepro").append(CRLF)
+                    .append("DTSTAMP:").append(stamp(shift)).append(CRLF);
+            LocalDateTime end = ShiftTimes.end(shift);
+            if (end == null) {
+                // Without times the shift is shown as an all-day event on its date
+                ics.append("DTSTART;VALUE=DATE:").append(shift.getDate().format(DATE_FORMAT)).append(CRLF)
+                        .append("DTEND;VALUE=DATE:").append(shift.getDate().plusDays(1).format(DATE_FORMAT)).append(CRLF);
+            } else {
+                ics.append("DTSTART:").append(ShiftTimes.start(shift).format(LOCAL_FORMAT)).append(CRLF)
+                        .append("DTEND:").append(end.format(LOCAL_FORMAT)).append(CRLF);
+            }
+            ics.append("SUMMARY:").append(escape(shift.getType() + " shift - " + shift.getDepartment())).append(CRLF)
+                    .append("LOCATION:").append(escape(shift.getDepartment())).append(CRLF)
+                    .append("END:VEVENT").append(CRLF);
+        }
+        ics.append("END:VCALENDAR").append(CRLF);
+
+        String body = ics.toString();
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new CalendarFeed(body, etag);
+    }
+
+    // When the shift was last changed, in UTC; shifts saved before that was recorded use their start,
+    // or the start of their date when they have no times
+    private String stamp(Shift shift) {
+        LocalDateTime changed = shift.getUpdatedAt() != null ? shift.getUpdatedAt()
+                : shift.getStartTime() != null ? ShiftTimes.start(shift) : shift.getDate().atStartOfDay();
+        return changed.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(LOCAL_FORMAT) + "Z";
+    }
+
+    private String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\n", "\\n");
+    }
+}
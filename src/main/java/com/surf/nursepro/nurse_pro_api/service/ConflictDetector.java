@@ -0,0 +1,244 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictSeverity;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictType;
+import com.surf.nursepro.nurse_pro_api.util.ShiftTimes;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Checks every {@link ScheduleConflictType} in one pass over shifts ordered by start time.
+ * <p>
+ * Nurses are indexed up front: specializations become bitsets over a shared dictionary,
+ * unavailable dates become a bitmask over the checked date range, and hours, rest and
+ * consecutive-day state is kept in primitive arrays. Each assignment is therefore checked in
+ * constant time (plus the size of the shift's requirement list).
+ * <p>
+ * At most one conflict is reported per type, shift and nurse (see {@link #key}); rest, hours
+ * and fatigue rules are attributed to the later shift, so a change on one day can only affect
+ * conflicts on that day and the following week.
+ */
+final class ConflictDetector {
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final long firstDay;
+    private final int[] maxHoursPerWeek;
+    private final BitSet[] specializations;
+    private final BitSet[] unavailable;
+
+    private final double[] weekHours;
+    private final long[] currentWeek;
+    private final boolean[] overtimeRaised;
+    private final long[] lastWorkDay;
+    private final int[] run;
+    private final long[] lastEnd;
+
+    ConflictDetector(Collection<Nurse> nurses, LocalDate from, LocalDate to) {
+        int n = nurses.size();
+        firstDay = from.toEpochDay();
+        int days = (int) (to.toEpochDay() - firstDay + 1);
+        maxHoursPerWeek = new int[n];
+        specializations = new BitSet[n];
+        unavailable = new BitSet[n];
+        weekHours = new double[n];
+        currentWeek = new long[n];
+        overtimeRaised = new boolean[n];
+        lastWorkDay = new long[n];
+        run = new int[n];
+        lastEnd = new long[n];
+        Arrays.fill(currentWeek, NONE);
+        Arrays.fill(lastWorkDay, NONE);
+        Arrays.fill(lastEnd, NONE);
+
+        int i = 0;
+        for (Nurse nurse : nurses) {
+            slots.put(nurse.getId(), i);
+            maxHoursPerWeek[i] = nurse.getMaxHoursPerWeek();
+            BitSet known = new BitSet();
+            if (nurse.getSpecializations() != null) {
+                nurse.getSpecializations().forEach(spec -> known.set(term(spec)));
+            }
+            specializations[i] = known;
+            unavailable[i] = new BitSet(Math.max(days, 0));
+            if (nurse.getUnavailableDates() != null) {
+                for (LocalDate date : nurse.getUnavailableDates()) {
+                    long offset = date.toEpochDay() - firstDay;
+                    if (offset >= 0 && offset < days) {
+                        unavailable[i].set((int) offset);
+                    }
+                }
+            }
+            i++;
+        }
+    }
+
+    List<ScheduleConflict> detect(List<Shift> shifts) {
+        List<Shift> ordered = new ArrayList<>(shifts);
+        ordered.sort(Comparator.comparing(Shift::getDate)
+                .thenComparing(Shift::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Shift::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        for (Shift shift : ordered) {
+            checkStaffing(shift, conflicts);
+            if (shift.getAssignedNurses() == null) {
+                continue;
+            }
+
+            BitSet required = requirements(shift);
+            boolean timed = shift.getStartTime() != null && shift.getEndTime() != null;
+            long start = timed ? minutes(ShiftTimes.start(shift).toEpochSecond(ZoneOffset.UTC)) : NONE;
+            long end = timed ? minutes(ShiftTimes.end(shift).toEpochSecond(ZoneOffset.UTC)) : NONE;
+            long day = shift.getDate().toEpochDay();
+            long week = Math.floorDiv(day + 3, 7); // epoch day 0 is a Thursday
+            double hours = ShiftTimes.hours(shift);
+
+            for (String nurseId : shift.getAssignedNurses()) {
+                Integer slot = slots.get(nurseId);
+                if (slot == null) {
+                    continue;
+                }
+                int i = slot;
+                checkQualification(shift, nurseId, i, required, conflicts);
+
+                List<String> clashes = new ArrayList<>(2);
+                long offset = day - firstDay;
+                if (offset >= 0 && unavailable[i].get((int) offset)) {
+                    clashes.add("is marked unavailable on " + shift.getDate());
+                }
+
+                List<String> fatigue = new ArrayList<>(2);
+                ScheduleConflictSeverity fatigueSeverity = ScheduleConflictSeverity.low;
+                if (timed && lastEnd[i] != NONE) {
+                    if (start < lastEnd[i]) {
+                        clashes.add("is already working an overlapping shift");
+                    } else if (start - lastEnd[i] < ShiftRules.MIN_REST_HOURS * 60L) {
+                        fatigue.add(String.format("only %.1f hours of rest before this shift", (start - lastEnd[i]) / 60.0));
+                        fatigueSeverity = ScheduleConflictSeverity.medium;
+                    }
+                }
+                if (timed) {
+                    lastEnd[i] = Math.max(lastEnd[i], end);
+                }
+
+                if (currentWeek[i] != week) {
+                    currentWeek[i] = week;
+                    weekHours[i] = 0;
+                    overtimeRaised[i] = false;
+                }
+                weekHours[i] += hours;
+                if (maxHoursPerWeek[i] > 0 && weekHours[i] > maxHoursPerWeek[i] && !overtimeRaised[i]) {
+                    overtimeRaised[i] = true;
+                    fatigue.add(String.format("%.1f hours this week exceeds the limit of %d", weekHours[i], maxHoursPerWeek[i]));
+                    fatigueSeverity = ScheduleConflictSeverity.medium;
+                }
+
+                if (lastWorkDay[i] != day) {
+                    run[i] = lastWorkDay[i] == day - 1 ? run[i] + 1 : 1;
+                    lastWorkDay[i] = day;
+                    if (run[i] == ShiftRules.MAX_CONSECUTIVE_WORK_DAYS + 1) {
+                        fatigue.add(run[i] + " consecutive working days");
+                    }
+                }
+
+                if (!clashes.isEmpty()) {
+                    conflicts.add(conflict(ScheduleConflictType.availability, ScheduleConflictSeverity.high, shift, nurseId,
+                            "Nurse " + String.join(" and ", clashes),
+                            "Assign another available nurse", "Confirm availability with the nurse"));
+                }
+                if (!fatigue.isEmpty()) {
+                    conflicts.add(conflict(ScheduleConflictType.overtime, fatigueSeverity, shift, nurseId,
+                            "Nurse has " + String.join("; ", fatigue),
+                            "Redistribute shifts to nurses with fewer hours", "Schedule rest days"));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    static String key(ScheduleConflict conflict) {
+        return conflict.getType() + "|" + conflict.getShiftId() + "|" + conflict.getNurseId();
+    }
+
+    private void checkStaffing(Shift shift, List<ScheduleConflict> conflicts) {
+        int assigned = shift.getAssignedNurses() == null ? 0 : shift.getAssignedNurses().size();
+        if (assigned < shift.getRequiredStaff()) {
+            conflicts.add(conflict(ScheduleConflictType.understaffed,
+                    assigned == 0 ? ScheduleConflictSeverity.critical : ScheduleConflictSeverity.high, shift, null,
+                    String.format("%s %s shift needs %d more nurse(s)",
+                            shift.getDepartment(), shift.getType(), shift.getRequiredStaff() - assigned),
+                    "Check for available nurses with matching qualifications",
+                    "Consider overtime assignments",
+                    "Review shift requirements"));
+        } else if (assigned > Math.max(shift.getRequiredStaff(), ShiftRules.MAX_NURSES_PER_SHIFT)) {
+            conflicts.add(conflict(ScheduleConflictType.overstaffed, ScheduleConflictSeverity.low, shift, null,
+                    String.format("%s %s shift has %d nurse(s) more than needed",
+                            shift.getDepartment(), shift.getType(), assigned - shift.getRequiredStaff()),
+                    "Move surplus nurses to understaffed shifts"));
+        }
+    }
+
+    private void checkQualification(Shift shift, String nurseId, int i, BitSet required,
+                                    List<ScheduleConflict> conflicts) {
+        if (required.isEmpty()) {
+            return;
+        }
+        List<String> missing = null;
+        for (int bit = required.nextSetBit(0); bit >= 0; bit = required.nextSetBit(bit + 1)) {
+            if (!specializations[i].get(bit)) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(termAt(bit));
+            }
+        }
+        if (missing != null) {
+            conflicts.add(conflict(ScheduleConflictType.qualification, ScheduleConflictSeverity.medium, shift, nurseId,
+                    "Nurse lacks required qualification(s): " + String.join(", ", missing),
+                    "Assign a nurse with the required specialization"));
+        }
+    }
+
+    private BitSet requirements(Shift shift) {
+        BitSet bits = new BitSet();
+        if (shift.getRequirements() != null) {
+            shift.getRequirements().forEach(requirement -> bits.set(term(requirement)));
+        }
+        return bits;
+    }
+
+    private int term(String value) {
+        return dictionary.computeIfAbsent(value.trim().toLowerCase(), k -> dictionary.size());
+    }
+
+    private String termAt(int bit) {
+        return dictionary.entrySet().stream()
+                .filter(entry -> entry.getValue() == bit)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse("?");
+    }
+
+    private long minutes(long epochSeconds) {
+        return epochSeconds / 60;
+    }
+
+    private ScheduleConflict conflict(ScheduleConflictType type, ScheduleConflictSeverity severity, Shift shift,
+                                      String nurseId, String message, String... suggestions) {
+        ScheduleConflict conflict = new ScheduleConflict();
+        conflict.setType(type);
+        conflict.setSeverity(severity);
+        conflict.setShiftId(shift.getId());
+        conflict.setNurseId(nurseId);
+        conflict.setMessage(message);
+        conflict.setSuggestions(new ArrayList<>(Arrays.asList(suggestions)));
+        return conflict;
+    }
+}
@@ -0,0 +1,289 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.KeysetPage;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Schedule;
+import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictSeverity;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictType;
+import com.surf.nursepro.nurse_pro_api.event.ConflictChangedEvent;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ScheduleConflictRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ScheduleRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Runs the {@link ConflictDetector} rules against schedules and stores what they find.
+ * <p>
+ * Single shift edits only re-evaluate the affected nurses around the edited day, and the
+ * result is reconciled with the stored conflicts by {@link ConflictDetector#key}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConflictService {
+    private static final Logger logger = LoggerFactory.getLogger(ConflictService.class);
+
+    // Covers a full ISO week, a rest gap and a run of MAX_CONSECUTIVE_WORK_DAYS + 1
+    private static final int WINDOW_DAYS = 7;
+
+    private final ScheduleConflictRepository conflictRepository;
+    private final ShiftRepository shiftRepository;
+    private final NurseRepository nurseRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<ScheduleConflict> detectForSchedule(Schedule schedule, List<Nurse> nurses) {
+        List<Shift> shifts = schedule.getShifts();
+        if (shifts == null || shifts.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate from = shifts.stream().map(Shift::getDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = shifts.stream().map(Shift::getDate).max(LocalDate::compareTo).orElseThrow();
+        List<ScheduleConflict> conflicts = new ConflictDetector(nurses, from, to).detect(shifts);
+        conflicts.forEach(conflict -> conflict.setScheduleId(schedule.getId()));
+
+        conflictRepository.saveAll(conflicts);
+        // Shifts created on their own before the month had a schedule
+        YearMonth period = YearMonth.of(schedule.getYear(), schedule.getMonth());
+        conflictRepository.assignSchedule(schedule.getId(), period.atDay(1), period.atEndOfMonth());
+        eventPublisher.publishEvent(new ConflictChangedEvent(conflicts, List.of()));
+        logger.debug("Detected {} conflicts for schedule {}", conflicts.size(), schedule.getId());
+        return conflicts;
+    }
+
+    /**
+     * Re-evaluates conflicts after a shift was created ({@code before == null}), updated or
+     * deleted ({@code after == null}).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reevaluate(Shift before, Shift after) {
+        Set<String> nurseIds = new HashSet<>();
+        Set<String> changedShiftIds = new HashSet<>();
+        Set<LocalDate> dates = new TreeSet<>();
+        for (Shift shift : Arrays.asList(before, after)) {
+            if (shift == null) {
+                continue;
+            }
+            changedShiftIds.add(shift.getId());
+            dates.add(shift.getDate());
+            if (shift.getAssignedNurses() != null) {
+                nurseIds.addAll(shift.getAssignedNurses());
+            }
+        }
+
+        List<Nurse> nurses = nurseIds.isEmpty() ? List.of() : nurseRepository.findAllById(nurseIds);
+        for (LocalDate date : dates) {
+            reevaluateFrom(date, nurses, nurseIds, changedShiftIds, before, after);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<KeysetPage<ScheduleConflict>> getScheduleConflicts(String scheduleId,
+                                                                        ScheduleConflictSeverity severity,
+                                                                        ScheduleConflictType type,
+                                                                        String cursor, Integer limit) {
+        if (scheduleId == null) {
+            logger.warn("Invalid schedule ID: {}", scheduleId);
+            throw new IllegalArgumentException("Invalid schedule ID");
+        }
+        if (!scheduleRepository.existsById(scheduleId)) {
+            logger.error("Schedule not found: {}", scheduleId);
+            throw new IllegalArgumentException("Schedule not found");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int size = KeysetCursor.limit(limit);
+
+        List<ScheduleConflict> items = conflictRepository.findPage(scheduleId, severity, type,
+                after == null ? null : after.createdAt(), after == null ? null : after.id(),
+                PageRequest.ofSize(size + 1));
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            ScheduleConflict last = items.get(size - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        // Totals come with the first page only; they do not change between pages of one listing
+        Map<String, Map<String, Long>> counts = null;
+        if (after == null) {
+            Map<String, Long> bySeverity = new LinkedHashMap<>();
+            Map<String, Long> byType = new LinkedHashMap<>();
+            for (Object[] row : conflictRepository.countBySeverityAndType(scheduleId)) {
+                long count = (Long) row[2];
+                bySeverity.merge(String.valueOf(row[0]), count, Long::sum);
+                byType.merge(String.valueOf(row[1]), count, Long::sum);
+            }
+            counts = Map.of("severity", bySeverity, "type", byType);
+        }
+
+        items.forEach(conflict -> Hibernate.initialize(conflict.getSuggestions()));
+        logger.debug("Fetched {} conflicts for schedule {}", items.size(), scheduleId);
+        return new ApiResponse<>(new KeysetPage<>(items, nextCursor, counts), "Conflicts retrieved successfully", true);
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<List<ScheduleConflict>> getShiftConflicts(String shiftId) {
+        if (shiftId == null) {
+            logger.warn("Invalid shift ID: {}", shiftId);
+            throw new IllegalArgumentException("Invalid shift ID");
+        }
+        if (!shiftRepository.existsById(shiftId)) {
+            logger.error("Shift not found: {}", shiftId);
+            throw new IllegalArgumentException("Shift not found");
+        }
+        List<ScheduleConflict> conflicts = conflictRepository.findByShiftId(shiftId);
+        conflicts.forEach(conflict -> Hibernate.initialize(conflict.getSuggestions()));
+        logger.debug("Fetched {} conflicts for shift {}", conflicts.size(), shiftId);
+        return new ApiResponse<>(conflicts, "Conflicts retrieved successfully", true);
+    }
+
+    /**
+     * Recomputes the conflicts of the affected nurses on {@code date} and the week after it.
+     * The week before is loaded as context only, so rest and hours rules see the same history
+     * a full detection would.
+     */
+    private void reevaluateFrom(LocalDate date, List<Nurse> nurses, Set<String> nurseIds,
+                                Set<String> changedShiftIds, Shift before, Shift after) {
+        LocalDate from = date.minusDays(WINDOW_DAYS);
+        LocalDate to = date.plusDays(WINDOW_DAYS);
+
+        List<Shift> shifts = nurseIds.isEmpty() ? new ArrayList<>()
+                : new ArrayList<>(shiftRepository.findByAssignedNurseInAndDateBetween(nurseIds, from, to));
+        if (after != null && date.equals(after.getDate())
+                && shifts.stream().noneMatch(shift -> shift.getId().equals(after.getId()))) {
+            shifts.add(after);
+        }
+
+        Set<String> scope = new HashSet<>();
+        for (Shift shift : shifts) {
+            if (!shift.getDate().isBefore(date)) {
+                scope.add(shift.getId());
+            }
+        }
+        if (after == null) {
+            scope.add(before.getId());
+        }
+
+        List<ScheduleConflict> fresh = new ConflictDetector(nurses, from, to).detect(shifts).stream()
+                .filter(conflict -> inScope(conflict, scope, nurseIds, changedShiftIds))
+                .toList();
+        List<ScheduleConflict> stored = scope.isEmpty() ? List.of() : conflictRepository.findByShiftIdIn(scope).stream()
+                .filter(conflict -> inScope(conflict, scope, nurseIds, changedShiftIds))
+                .toList();
+        Map<String, LocalDate> shiftDates = new HashMap<>();
+        shifts.forEach(shift -> shiftDates.put(shift.getId(), shift.getDate()));
+        reconcile(stored, fresh, shiftDates);
+    }
+
+    private boolean inScope(ScheduleConflict conflict, Set<String> scope, Set<String> nurseIds,
+                            Set<String> changedShiftIds) {
+        if (!scope.contains(conflict.getShiftId())) {
+            return false;
+        }
+        // Staffing conflicts only change with the edited shift itself
+        return conflict.getNurseId() == null
+                ? changedShiftIds.contains(conflict.getShiftId())
+                : nurseIds.contains(conflict.getNurseId()) || changedShiftIds.contains(conflict.getShiftId());
+    }
+
+    private void reconcile(List<ScheduleConflict> stored, List<ScheduleConflict> fresh, Map<String, LocalDate> shiftDates) {
+        Map<String, ScheduleConflict> byKey = new HashMap<>();
+        List<ScheduleConflict> resolved = new ArrayList<>();
+        for (ScheduleConflict conflict : stored) {
+            if (byKey.putIfAbsent(ConflictDetector.key(conflict), conflict) != null) {
+                resolved.add(conflict);
+            }
+        }
+
+        List<ScheduleConflict> changed = new ArrayList<>();
+        for (ScheduleConflict conflict : fresh) {
+            ScheduleConflict existing = byKey.remove(ConflictDetector.key(conflict));
+            if (existing == null) {
+                changed.add(conflict);
+            } else if (existing.getSeverity() != conflict.getSeverity()
+                    || !Objects.equals(existing.getMessage(), conflict.getMessage())) {
+                existing.setSeverity(conflict.getSeverity());
+                existing.setMessage(conflict.getMessage());
+                existing.setSuggestions(conflict.getSuggestions());
+                changed.add(existing);
+            }
+        }
+        resolved.addAll(byKey.values());
+
+        assignSchedules(changed, shiftDates);
+        conflictRepository.deleteAll(resolved);
+        conflictRepository.saveAll(changed);
+        if (!changed.isEmpty() || !resolved.isEmpty()) {
+            eventPublisher.publishEvent(new ConflictChangedEvent(changed, resolved));
+        }
+        logger.debug("Conflicts re-evaluated: {} upserted, {} resolved", changed.size(), resolved.size());
+    }
+
+    /**
+     * Sets the schedule of new conflicts: the schedule holding their shift, or for a shift created
+     * on its own, the schedule of the shift's month.
+     */
+    private void assignSchedules(List<ScheduleConflict> conflicts, Map<String, LocalDate> shiftDates) {
+        Set<String> shiftIds = new HashSet<>();
+        conflicts.stream()
+                .filter(conflict -> conflict.getScheduleId() == null)
+                .forEach(conflict -> shiftIds.add(conflict.getShiftId()));
+        if (shiftIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> scheduleIds = new HashMap<>();
+        for (Object[] row : scheduleRepository.findScheduleIdsByShiftIds(shiftIds)) {
+            scheduleIds.put((String) row[0], (String) row[1]);
+        }
+        Map<YearMonth, String> byMonth = new HashMap<>();
+        for (ScheduleConflict conflict : conflicts) {
+            if (conflict.getScheduleId() != null) {
+                continue;
+            }
+            String scheduleId = scheduleIds.get(conflict.getShiftId());
+            LocalDate date = shiftDates.get(conflict.getShiftId());
+            if (scheduleId == null && date != null) {
+                scheduleId = byMonth.computeIfAbsent(YearMonth.from(date), period -> scheduleRepository
+                        .findIdsByMonthAndYear(period.getMonthValue(), period.getYear()).stream().findFirst().orElse(null));
+            }
+            conflict.setScheduleId(scheduleId);
+        }
+    }
+
+    /**
+     * Attaches conflicts stored without a schedule, from before every creation path set one, to
+     * the schedule of their shift's month. Idempotent, so every instance may run it on start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillScheduleIds() {
+        int updated = 0;
+        for (Object[] row : scheduleRepository.findPeriods()) {
+            YearMonth period = YearMonth.of((Integer) row[2], (Integer) row[1]);
+            updated += conflictRepository.assignSchedule((String) row[0], period.atDay(1), period.atEndOfMonth());
+        }
+        if (updated > 0) {
+            logger.info("Assigned a schedule to {} conflicts", updated);
+        }
+    }
+}
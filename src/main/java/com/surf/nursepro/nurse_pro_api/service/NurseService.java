@@ -1,36 +1,49 @@
 package com.surf.nursepro.nurse_pro_api.service;
 
 import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.NurseResponse;
 import com.surf.nursepro.nurse_pro_api.dto.NurseStatus;
 import com.surf.nursepro.nurse_pro_api.entity.Nurse;
 import com.surf.nursepro.nurse_pro_api.enums.ExperienceLevel;
 import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
 import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
+import com.surf.nursepro.nurse_pro_api.util.ShiftTimes;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class NurseService {
+    private static final Logger logger = LoggerFactory.getLogger(NurseService.class);
+
     private final NurseRepository nurseRepository;
     private final ShiftRepository shiftRepository;
+    private final ResponseStreamer responseStreamer;
 
     @Transactional
-    public ApiResponse<Nurse> createNurse(Nurse nurse) {
+    public ApiResponse<NurseResponse> createNurse(Nurse nurse) {
         Nurse savedNurse = nurseRepository.save(nurse);
-        return new ApiResponse<>(savedNurse, "Nurse created successfully", true);
+        return new ApiResponse<>(NurseResponse.from(savedNurse, FieldSelection.ALL), "Nurse created successfully", true);
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<Nurse>> getAllNurses(String department, String experienceLevel, String specialization) {
+    public ApiResponse<List<NurseResponse>> getAllNurses(String department, String experienceLevel, String specialization,
+                                                         String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, NurseResponse.FIELDS);
         // Build specification dynamically based on provided filters
         Specification<Nurse> spec = (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -41,13 +54,9 @@ public class NurseService {
             }
 
             // Filter by experienceLevel if provided
-            if (experienceLevel != null && !experienceLevel.trim().isEmpty()) {
-                try {
-                    ExperienceLevel level = ExperienceLevel.valueOf(experienceLevel.trim());
-                    predicates.add(criteriaBuilder.equal(root.get("experienceLevel"), level));
-                } catch (IllegalArgumentException e) {
-                    throw new IllegalArgumentException("Invalid experience level: " + experienceLevel);
-                }
+            ExperienceLevel level = parseExperienceLevel(experienceLevel);
+            if (level != null) {
+                predicates.add(criteriaBuilder.equal(root.get("experienceLevel"), level));
             }
 
             // Filter by specialization if provided
@@ -63,21 +72,51 @@ public class NurseService {
         };
 
         // Execute query with the specification
-        List<Nurse> nurses = nurseRepository.findAll(spec);
+        List<NurseResponse> nurses = nurseRepository.findAll(spec).stream()
+                .map(nurse -> NurseResponse.from(nurse, selection))
+                .toList();
 
         // Return response
         return new ApiResponse<>(nurses, "Nurses retrieved successfully", true);
     }
 
+    /**
+     * Writes the nurse listing as it is read from a database cursor. Parameters are validated by the
+     * caller before the response starts, see {@link #parseExperienceLevel}.
+     */
+    @Transactional(readOnly = true)
+    public void streamNurses(String department, ExperienceLevel experienceLevel, String specialization,
+                             FieldSelection fields, OutputStream out) throws IOException {
+        String departmentFilter = department == null || department.trim().isEmpty() ? null : department.trim();
+        String specializationPattern = specialization == null || specialization.trim().isEmpty()
+                ? null : "%" + specialization.trim().toLowerCase() + "%";
+        try (Stream<Nurse> nurses = nurseRepository.streamAll(departmentFilter, experienceLevel, specializationPattern)) {
+            responseStreamer.writeList(out, nurses, nurse -> NurseResponse.from(nurse, fields), NurseResponse.class,
+                    fields, "Nurses retrieved successfully");
+        }
+    }
+
+    public static ExperienceLevel parseExperienceLevel(String experienceLevel) {
+        if (experienceLevel == null || experienceLevel.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return ExperienceLevel.valueOf(experienceLevel.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid experience level: " + experienceLevel);
+        }
+    }
+
     @Transactional(readOnly = true)
-    public ApiResponse<Nurse> getNurseById(String id) {
+    public ApiResponse<NurseResponse> getNurseById(String id, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, NurseResponse.FIELDS);
         Nurse nurse = nurseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Nurse not found"));
-        return new ApiResponse<>(nurse, "Nurse retrieved successfully", true);
+        return new ApiResponse<>(NurseResponse.from(nurse, selection), "Nurse retrieved successfully", true);
     }
 
     @Transactional
-    public ApiResponse<Nurse> updateNurse(String id, Nurse updatedNurse) {
+    public ApiResponse<NurseResponse> updateNurse(String id, Nurse updatedNurse) {
         Nurse nurse = nurseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Nurse not found"));
         nurse.setFirstName(updatedNurse.getFirstName());
@@ -92,7 +131,7 @@ public class NurseService {
         nurse.setUnavailableDates(updatedNurse.getUnavailableDates());
         nurse.setUpdatedAt(LocalDateTime.now());
         Nurse savedNurse = nurseRepository.save(nurse);
-        return new ApiResponse<>(savedNurse, "Nurse updated successfully", true);
+        return new ApiResponse<>(NurseResponse.from(savedNurse, FieldSelection.ALL), "Nurse updated successfully", true);
     }
 
     @Transactional
@@ -102,9 +141,11 @@ public class NurseService {
     }
 
     @Transactional
-    public ApiResponse<List<Nurse>> bulkUploadNurses(List<Nurse> nurses) {
-        System.out.println("Got here");
-        List<Nurse> savedNurses = nurseRepository.saveAll(nurses);
+    public ApiResponse<List<NurseResponse>> bulkUploadNurses(List<Nurse> nurses) {
+        logger.info("Bulk uploading {} nurses", nurses.size());
+        List<NurseResponse> savedNurses = nurseRepository.saveAll(nurses).stream()
+                .map(nurse -> NurseResponse.from(nurse, FieldSelection.ALL))
+                .toList();
         return new ApiResponse<>(savedNurses, "Nurses uploaded successfully", true);
     }
 
@@ -114,22 +155,18 @@ public class NurseService {
         NurseStatus status = new NurseStatus();
         status.setNurseId(nurseId);
 
-        shiftRepository.findAll().stream()
-                .filter(shift -> shift.getAssignedNurses().contains(nurseId))
-                .filter(shift -> {
-                    LocalDateTime shiftStart = shift.getDate().atTime(
-                            LocalTime.parse(shift.getStartTime()));
-                    LocalDateTime shiftEnd = shift.getDate().atTime(
-                            LocalTime.parse(shift.getEndTime()));
-                    return now.isAfter(shiftStart) && now.isBefore(shiftEnd);
-                })
+        // Only yesterday's night shift can still be running today
+        LocalDate today = now.toLocalDate();
+        shiftRepository.findByAssignedNurseAndDateBetween(nurseId, today.minusDays(1), today).stream()
+                .filter(shift -> ShiftTimes.end(shift) != null
+                        && now.isAfter(ShiftTimes.start(shift)) && now.isBefore(ShiftTimes.end(shift)))
                 .findFirst()
                 .ifPresentOrElse(
                         shift -> {
                             status.setOnDuty(true);
                             status.setCurrentShiftId(shift.getId());
-                            status.setShiftStartTime(shift.getDate().atTime(LocalTime.parse(shift.getStartTime())));
-                            status.setShiftEndTime(shift.getDate().atTime(LocalTime.parse(shift.getEndTime())));
+                            status.setShiftStartTime(ShiftTimes.start(shift));
+                            status.setShiftEndTime(ShiftTimes.end(shift));
                         },
                         () -> status.setOnDuty(false)
                 );
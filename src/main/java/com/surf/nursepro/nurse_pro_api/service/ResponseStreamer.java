@@ -0,0 +1,70 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes an {@code ApiResponse} list envelope while reading its entities from a database cursor.
+ * Entities are mapped in chunks, so their lazy collections load in batches, and the persistence
+ * context is cleared after each chunk; memory stays flat however many rows there are.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseStreamer {
+    static final int CHUNK_SIZE = 100;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * Must run inside a read-only transaction: clearing the persistence context discards pending changes.
+     *
+     * @return the number of items written
+     */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public <E, D> long writeList(OutputStream out, Stream<E> rows, Function<E, D> mapper, Class<D> type,
+                                 FieldSelection fields, String message) throws IOException {
+        ObjectWriter writer = objectMapper.writer(fields.filters(type))
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (Iterator<E> it = rows.iterator(); it.hasNext(); ) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK_SIZE || !it.hasNext()) {
+                    for (E row : chunk) {
+                        writer.writeValue(generator, mapper.apply(row));
+                    }
+                    count += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeStringField("message", message);
+            generator.writeBooleanField("success", true);
+            generator.writeEndObject();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,264 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
+import com.surf.nursepro.nurse_pro_api.event.ConflictChangedEvent;
+import com.surf.nursepro.nurse_pro_api.event.ShiftChangedEvent;
+import com.surf.nursepro.nurse_pro_api.event.SwapRequestChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of roster changes to Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber has its own bounded buffer drained by a sender thread, so publishing never
+ * blocks on a client. A subscriber whose buffer fills up, or whose current write has not returned
+ * within {@code roster.events.write-timeout-ms}, is disconnected; clients are expected to reconnect
+ * and re-read current state. The sender pool starts a thread per busy subscriber up to
+ * {@code roster.events.sender-threads}, then queues up to {@code roster.events.sender-queue-size}
+ * drains; a subscriber whose drain finds both full is disconnected, so stalled clients cannot use
+ * up threads. At most {@code roster.events.max-subscribers} are connected at a time.
+ */
+@Service
+public class RosterEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(RosterEventBus.class);
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService scheduler;
+
+    public RosterEventBus(@Value("${roster.events.buffer-size:256}") int bufferSize,
+                          @Value("${roster.events.timeout-ms:1800000}") long timeoutMillis,
+                          @Value("${roster.events.heartbeat-seconds:15}") long heartbeatSeconds,
+                          @Value("${roster.events.sender-threads:32}") int senderThreads,
+                          @Value("${roster.events.write-timeout-ms:10000}") long writeTimeoutMillis,
+                          @Value("${roster.events.sender-queue-size:256}") int senderQueueSize,
+                          @Value("${roster.events.max-subscribers:500}") int maxSubscribers) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        // Core size equal to the maximum starts a new thread before queueing; idle ones time out
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(senderQueueSize), daemon("roster-events-"));
+        pool.allowCoreThreadTimeOut(true);
+        this.senders = pool;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("roster-heartbeat-"));
+        scheduler.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long checkMillis = Math.max(1, Math.min(1000, writeTimeoutMillis / 2));
+        scheduler.scheduleAtFixedRate(this::dropStalledSubscribers, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the new subscriber's emitter, or empty when {@code roster.events.max-subscribers} are connected
+     */
+    public Optional<SseEmitter> subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    Optional<SseEmitter> subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        // Removals need no lock: they only make room
+        synchronized (subscribers) {
+            if (subscribers.size() >= maxSubscribers) {
+                logger.warn("Rejecting event stream subscriber, {} already connected", subscribers.size());
+                return Optional.empty();
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.offer(SseEmitter.event().name("connected").data(Map.of("subscribers", subscribers.size())));
+        logger.debug("Event stream subscriber connected, {} active", subscribers.size());
+        return Optional.of(emitter);
+    }
+
+    public void publish(String name, Object data) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(name)
+                .data(data);
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShiftChanged(ShiftChangedEvent event) {
+        publish("shift." + event.getAction().name().toLowerCase(),
+                Map.of("shiftId", event.getShiftId(), "nurseIds", event.getNurseIds()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSwapRequestChanged(SwapRequestChangedEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("requestId", event.getRequestId());
+        data.put("status", event.getStatus());
+        data.put("requesterId", event.getRequesterId());
+        data.put("targetId", event.getTargetId());
+        publish("swap." + event.getStatus().name().toLowerCase(), data);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConflictChanged(ConflictChangedEvent event) {
+        if (!event.getRaised().isEmpty()) {
+            publish("conflict.raised", summaries(event.getRaised()));
+        }
+        if (!event.getResolved().isEmpty()) {
+            publish("conflict.resolved", summaries(event.getResolved()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().comment("heartbeat");
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > writeTimeoutNanos) {
+                logger.warn("Dropping event stream subscriber stuck in a write for {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(now - since));
+                subscriber.close();
+            }
+        }
+    }
+
+    private List<Map<String, Object>> summaries(List<ScheduleConflict> conflicts) {
+        return conflicts.stream().map(conflict -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("id", conflict.getId());
+            summary.put("scheduleId", conflict.getScheduleId());
+            summary.put("shiftId", conflict.getShiftId());
+            summary.put("nurseId", conflict.getNurseId());
+            summary.put("type", conflict.getType());
+            summary.put("severity", conflict.getSeverity());
+            summary.put("message", conflict.getMessage());
+            return summary;
+        }).toList();
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicLong count = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        // Held by the one thread draining the buffer, or by whoever completes the emitter after close
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // System.nanoTime() when the current write started, 0 between writes
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                logger.warn("Dropping slow event stream subscriber after {} buffered events", bufferSize);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    logger.warn("Dropping event stream subscriber, all sender threads and the queue are busy");
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    SseEmitter.SseEventBuilder event;
+                    while (!closed && (event = buffer.poll()) != null) {
+                        sendingSince = System.nanoTime();
+                        try {
+                            emitter.send(event);
+                        } finally {
+                            sendingSince = 0;
+                        }
+                    }
+                    draining.set(false);
+                    // Re-check for events offered between the last poll and the reset
+                } while (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Event stream subscriber disconnected: {}", e.getMessage());
+                closed = true;
+                draining.set(false);
+            }
+            if (closed) {
+                complete();
+            }
+        }
+
+        /**
+         * Stops delivery without waiting for a write in progress: the emitter is completed here if
+         * nothing is being sent, otherwise by the sender once its write returns.
+         */
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            complete();
+        }
+
+        private void complete() {
+            // SseEmitter.complete() waits for a send in progress, so only an idle subscriber is completed
+            if (draining.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                buffer.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
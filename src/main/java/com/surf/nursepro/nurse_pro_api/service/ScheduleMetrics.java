@@ -0,0 +1,80 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for schedule generation and exports. Generation is timed per phase and exports per
+ * format. All of them are tagged with {@code month}, so a slow run can be narrowed down in
+ * Prometheus with the same label everywhere. Runs and exports always cover every department, so
+ * only the assignment counters, which are counted per shift, carry a {@code department} tag.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleMetrics {
+    public static final String PHASE_LOAD_NURSES = "load_nurses";
+    public static final String PHASE_SOLVE = "solve";
+    public static final String PHASE_PERSIST = "persist";
+    public static final String PHASE_WORKLOAD = "workload";
+    public static final String PHASE_CONFLICTS = "conflicts";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T timePhase(String phase, int month, Supplier<T> work) {
+        return Timer.builder("schedule.generation.phase")
+                .description("Time spent in each phase of schedule generation")
+                .tags(Tags.of("month", String.valueOf(month), "phase", phase))
+                .register(meterRegistry)
+                .record(work);
+    }
+
+    public void runPhase(String phase, int month, Runnable work) {
+        timePhase(phase, month, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public void recordAssignments(int month, String department, long assigned, long unfilledShifts) {
+        Tags tags = Tags.of("month", String.valueOf(month), "department", department);
+        Counter.builder("schedule.generation.assignments")
+                .description("Nurse assignments made by schedule generation")
+                .tags(tags)
+                .register(meterRegistry)
+                .increment(assigned);
+        Counter.builder("schedule.generation.unfilled.shifts")
+                .description("Generated shifts left without any eligible nurse")
+                .tags(tags)
+                .register(meterRegistry)
+                .increment(unfilledShifts);
+    }
+
+    public void recordExport(String format, List<Integer> months, long nanos, long bytes) {
+        Tags tags = Tags.of("month", monthTag(months), "format", format.toLowerCase());
+        Timer.builder("schedule.export")
+                .description("Time to render a schedule export")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("schedule.export.size")
+                .description("Size of rendered schedule exports")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    // Multi-month exports share one value so the tag stays bounded
+    private static String monthTag(List<Integer> months) {
+        return months.size() == 1 ? String.valueOf(months.get(0)) : "multiple";
+    }
+}
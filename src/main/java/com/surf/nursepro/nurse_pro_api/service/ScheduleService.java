@@ -1,20 +1,36 @@
 package com.surf.nursepro.nurse_pro_api.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itextpdf.text.Paragraph;
+import com.surf.nursepro.nurse_pro_api.dto.ShiftAssignmentRow;
 import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
 import com.surf.nursepro.nurse_pro_api.dto.ScheduleGenerationParams;
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleResponse;
+import com.surf.nursepro.nurse_pro_api.dto.ShiftResponse;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalRequest;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalResult;
 import com.surf.nursepro.nurse_pro_api.entity.*;
 import com.surf.nursepro.nurse_pro_api.enums.*;
+import com.surf.nursepro.nurse_pro_api.event.ShiftChangedEvent;
+import com.surf.nursepro.nurse_pro_api.event.SwapRequestChangedEvent;
 import com.surf.nursepro.nurse_pro_api.repository.*;
+import com.surf.nursepro.nurse_pro_api.util.CountingOutputStream;
+import com.surf.nursepro.nurse_pro_api.util.FieldSelection;
+import com.surf.nursepro.nurse_pro_api.util.ShiftTimes;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,7 +38,14 @@ import java.util.stream.Collectors;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFColor;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 
 @Service
@@ -35,22 +58,49 @@ public class ScheduleService {
     private final NurseRepository nurseRepository;
     private final SwapRequestRepository swapRequestRepository;
     private final WorkloadDataRepository workloadDataRepository;
-    private final ScheduleConflictRepository conflictRepository;
+    private final ConflictService conflictService;
+    private final ObjectMapper objectMapper;
+    private final ResponseStreamer responseStreamer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkloadService workloadService;
+    private final SwapInboxService swapInboxService;
+    private final SwapApprovalService swapApprovalService;
+    private final ScheduleMetrics scheduleMetrics;
 
     private static final int MAX_CONSECUTIVE_DAY = 3;
     private static final int MAX_CONSECUTIVE_NIGHT = 3;
-    private static final int MIN_NURSES_PER_SHIFT = 2;
-    private static final int MAX_NURSES_PER_SHIFT = 3;
+    private static final int MIN_NURSES_PER_SHIFT = ShiftRules.MIN_NURSES_PER_SHIFT;
+    private static final int MAX_NURSES_PER_SHIFT = ShiftRules.MAX_NURSES_PER_SHIFT;
     private static final int TARGET_SHIFTS_PER_NURSE = 14;
+    private static final int MAX_BATCH_APPROVALS = 200;
+    private static final String CSV_HEADER = "date,shift_type,start_time,end_time,department,nurse_id,nurse_name";
 
-    public ApiResponse<List<Schedule>> fetchSchedules() {
-        List<Schedule> schedules = scheduleRepository.findAll();
+    @Transactional(readOnly = true)
+    public ApiResponse<List<ScheduleResponse>> fetchSchedules(String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ScheduleResponse.FIELDS);
+        List<ScheduleResponse> schedules = scheduleRepository.findAll().stream()
+                .map(schedule -> ScheduleResponse.from(schedule, selection))
+                .toList();
         logger.debug("Fetched {} schedules", schedules.size());
         return new ApiResponse<>(schedules, "Schedules fetched successfully", true);
     }
 
+    /**
+     * Writes the schedule listing as it is read from a database cursor, a chunk of schedules and
+     * their shifts at a time.
+     */
+    @Transactional(readOnly = true)
+    public void streamSchedules(FieldSelection fields, OutputStream out) throws IOException {
+        long count;
+        try (Stream<Schedule> schedules = scheduleRepository.streamAll()) {
+            count = responseStreamer.writeList(out, schedules, schedule -> ScheduleResponse.from(schedule, fields),
+                    ScheduleResponse.class, fields, "Schedules fetched successfully");
+        }
+        logger.debug("Streamed {} schedules", count);
+    }
+
     @Transactional
-    public ApiResponse<Schedule> generateSchedule(ScheduleGenerationParams params) {
+    public ApiResponse<ScheduleResponse> generateSchedule(ScheduleGenerationParams params) {
         if (params == null || params.getMonth() < 1 || params.getMonth() > 12 || params.getYear() < 2000) {
             logger.warn("Invalid schedule generation parameters: {}", params);
             throw new IllegalArgumentException("Invalid month or year");
@@ -61,23 +111,53 @@ public class ScheduleService {
             throw new IllegalArgumentException("Schedule already exists for month " + params.getMonth() + " and year " + params.getYear());
         }
 
-        List<Nurse> nurses = nurseRepository.findAll();
+        int month = params.getMonth();
+        List<Nurse> nurses = scheduleMetrics.timePhase(ScheduleMetrics.PHASE_LOAD_NURSES, month, () -> {
+            List<Nurse> all = nurseRepository.findAll();
+            // Conflict detection reads these after the persist flush, which drops pending batch
+            // fetches and would load them one nurse at a time
+            all.forEach(nurse -> Hibernate.initialize(nurse.getSpecializations()));
+            return all;
+        });
         if (nurses.isEmpty()) {
             logger.error("No nurses available for scheduling");
             throw new IllegalArgumentException("No nurses available for scheduling");
         }
 
-        Map<String, NurseState> states = new HashMap<>();
-        nurses.forEach(nurse -> states.put(nurse.getId(), new NurseState()));
-
         Schedule schedule = new Schedule();
         schedule.setMonth(params.getMonth());
         schedule.setYear(params.getYear());
         schedule.setGeneratedAt(LocalDateTime.now());
         schedule.setStatus(ScheduleStatus.Draft);
-        List<Shift> shifts = new ArrayList<>();
-
         LocalDate startDate = LocalDate.of(params.getYear(), params.getMonth(), 1);
+        List<Shift> shifts = scheduleMetrics.timePhase(ScheduleMetrics.PHASE_SOLVE, month, () -> assignShifts(nurses, startDate));
+        shifts.stream().collect(Collectors.groupingBy(Shift::getDepartment)).forEach((department, inDepartment) ->
+                scheduleMetrics.recordAssignments(month, department,
+                        inDepartment.stream().mapToLong(shift -> shift.getAssignedNurses().size()).sum(),
+                        inDepartment.stream().filter(shift -> shift.getAssignedNurses().isEmpty()).count()));
+
+        schedule.setShifts(shifts);
+        // Flushed per phase so each timer includes its own inserts rather than the commit
+        Schedule savedSchedule = scheduleMetrics.timePhase(ScheduleMetrics.PHASE_PERSIST, month, () -> scheduleRepository.saveAndFlush(schedule));
+        scheduleMetrics.runPhase(ScheduleMetrics.PHASE_WORKLOAD, month, () -> {
+            workloadService.rebuildForSchedule(savedSchedule, nurses);
+            workloadDataRepository.flush();
+        });
+        scheduleMetrics.runPhase(ScheduleMetrics.PHASE_CONFLICTS, month, () -> {
+            conflictService.detectForSchedule(savedSchedule, nurses);
+            workloadDataRepository.flush();
+        });
+        savedSchedule.getShifts().forEach(shift -> publishShiftChange(shift.getId(), ShiftChangedEvent.Action.CREATED,
+                assignedNurses(shift)));
+
+        logger.info("Generated schedule ID: {} for {}/{}", savedSchedule.getId(), params.getMonth(), params.getYear());
+        return new ApiResponse<>(ScheduleResponse.from(savedSchedule, FieldSelection.ALL), "Schedule generated successfully", true);
+    }
+
+    private List<Shift> assignShifts(List<Nurse> nurses, LocalDate startDate) {
+        Map<String, NurseState> states = new HashMap<>();
+        nurses.forEach(nurse -> states.put(nurse.getId(), new NurseState()));
+        List<Shift> shifts = new ArrayList<>();
         int daysInMonth = startDate.getMonth().length(startDate.isLeapYear());
 
         for (int day = 0; day < daysInMonth; day++) {
@@ -122,13 +202,7 @@ public class ScheduleService {
             updateRestStates(states, assignedToday, day);
         }
 
-        schedule.setShifts(shifts);
-        Schedule savedSchedule = scheduleRepository.save(schedule);
-        updateWorkloadData(savedSchedule);
-        detectConflicts(savedSchedule);
-
-        logger.info("Generated schedule ID: {} for {}/{}", savedSchedule.getId(), params.getMonth(), params.getYear());
-        return new ApiResponse<>(savedSchedule, "Schedule generated successfully", true);
+        return shifts;
     }
 
     private Shift createShift(LocalDate date, ShiftType type) {
@@ -195,16 +269,15 @@ public class ScheduleService {
             }
         }
 
-        eligible.sort((a, b) -> {
-            NurseState stateA = states.get(a.getId());
-            NurseState stateB = states.get(b.getId());
-            return Double.compare(
-                    stateA.workDays + Math.random(),
-                    stateB.workDays + Math.random()
-            );
-        });
+        // Least worked first, ties in random order. A comparator that draws random numbers itself
+        // breaks TimSort's contract once a department has more than a few dozen nurses.
+        Collections.shuffle(eligible);
+        eligible.sort(Comparator.comparingInt(nurse -> states.get(nurse.getId()).workDays));
 
-        logger.debug("Found {} eligible nurses for {} shift on {}", eligible.size(), shiftType, currentDate);
+        // Guarded: runs per shift, and three arguments allocate even when DEBUG is off
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found {} eligible nurses for {} shift on {}", eligible.size(), shiftType, currentDate);
+        }
         return eligible;
     }
 
@@ -229,6 +302,7 @@ public class ScheduleService {
     }
 
     private void updateRestStates(Map<String, NurseState> states, Set<String> assignedToday, int day) {
+        boolean debug = logger.isDebugEnabled();
         states.forEach((nurseId, state) -> {
             if (!assignedToday.contains(nurseId) && state.lastWorkDay == day - 1 && state.lastType != null) {
                 int k = state.consecutive;
@@ -238,7 +312,9 @@ public class ScheduleService {
                 if (t.equals("night")) {
                     state.afterNightRest = true;
                 }
-                logger.debug("Nurse {} assigned {} rest days after {} {} shifts", nurseId, off, k, t);
+                if (debug) {
+                    logger.debug("Nurse {} assigned {} rest days after {} {} shifts", nurseId, off, k, t);
+                }
             }
             if (state.restLeft > 0) {
                 state.restLeft--;
@@ -254,87 +330,34 @@ public class ScheduleService {
         return k < 2 ? 0 : k - 1;
     }
 
-    private void updateWorkloadData(Schedule schedule) {
-        Map<String, WorkloadData> workloadMap = new HashMap<>();
-
-        for (Shift shift : schedule.getShifts()) {
-            boolean isWeekend = shift.getDate().getDayOfWeek().getValue() >= 6;
-            boolean isNight = shift.getType() == ShiftType.Night;
-
-            for (String nurseId : shift.getAssignedNurses()) {
-                WorkloadData data = workloadMap.computeIfAbsent(nurseId, id -> {
-                    WorkloadData wd = new WorkloadData();
-                    wd.setNurseId(id);
-                    wd.setMonth(schedule.getMonth());
-                    wd.setYear(schedule.getYear());
-                    wd.setCreatedAt(LocalDateTime.now());
-                    return wd;
-                });
-
-                data.setShiftsCount(data.getShiftsCount() + 1);
-                data.setTotalHours(data.getTotalHours() + 8); // Assuming 8-hour shifts
-                if (isNight) {
-                    data.setNightShifts(data.getNightShifts() + 1);
-                }
-                if (isWeekend) {
-                    data.setWeekendShifts(data.getWeekendShifts() + 1);
-                }
-                data.setUpdatedAt(LocalDateTime.now());
-            }
-        }
-
-        workloadDataRepository.saveAll(workloadMap.values());
-        logger.debug("Updated workload data for {} nurses", workloadMap.size());
-    }
-
-    private void detectConflicts(Schedule schedule) {
-        List<ScheduleConflict> conflicts = new ArrayList<>();
-
-        for (Shift shift : schedule.getShifts()) {
-            if (shift.getAssignedNurses().size() < shift.getRequiredStaff()) {
-                ScheduleConflict conflict = new ScheduleConflict();
-                conflict.setType(ScheduleConflictType.understaffed);
-                conflict.setSeverity(shift.getAssignedNurses().isEmpty() ?
-                        ScheduleConflictSeverity.critical : ScheduleConflictSeverity.high);
-                conflict.setShiftId(shift.getId());
-                conflict.setMessage(String.format("%s %s shift needs %d more nurse(s)",
-                        shift.getDepartment(), shift.getType(),
-                        shift.getRequiredStaff() - shift.getAssignedNurses().size()));
-                conflict.setSuggestions(Arrays.asList(
-                        "Check for available nurses with matching qualifications",
-                        "Consider overtime assignments",
-                        "Review shift requirements"
-                ));
-                conflicts.add(conflict);
-            }
-        }
-
-        conflictRepository.saveAll(conflicts);
-        logger.debug("Detected {} conflicts for schedule {}", conflicts.size(), schedule.getId());
-    }
-
     @Transactional
-    public ApiResponse<Shift> createShift(Shift shift) {
+    public ApiResponse<ShiftResponse> createShift(Shift shift) {
         if (shift == null || shift.getDate() == null || shift.getType() == null) {
             logger.warn("Invalid shift data: {}", shift);
             throw new IllegalArgumentException("Invalid shift data");
         }
+        ShiftTimes.normalize(shift);
         Shift savedShift = shiftRepository.save(shift);
+        workloadService.applyShiftChange(null, savedShift);
+        conflictService.reevaluate(null, savedShift);
+        publishShiftChange(savedShift.getId(), ShiftChangedEvent.Action.CREATED, assignedNurses(savedShift));
         logger.info("Created shift ID: {}", savedShift.getId());
-        return new ApiResponse<>(savedShift, "Shift created successfully", true);
+        return new ApiResponse<>(ShiftResponse.from(savedShift, FieldSelection.ALL), "Shift created successfully", true);
     }
 
     @Transactional
-    public ApiResponse<Shift> updateShift(String shiftId, Shift updatedShift) {
+    public ApiResponse<ShiftResponse> updateShift(String shiftId, Shift updatedShift) {
         if (shiftId == null || updatedShift == null) {
             logger.warn("Invalid shift ID or data: shiftId={}, updatedShift={}", shiftId, updatedShift);
             throw new IllegalArgumentException("Invalid shift ID or data");
         }
+        ShiftTimes.normalize(updatedShift);
         Shift shift = shiftRepository.findById(shiftId)
                 .orElseThrow(() -> {
                     logger.error("Shift not found: {}", shiftId);
                     return new IllegalArgumentException("Shift not found");
                 });
+        Shift before = snapshot(shift);
         shift.setDate(updatedShift.getDate());
         shift.setStartTime(updatedShift.getStartTime());
         shift.setEndTime(updatedShift.getEndTime());
@@ -344,8 +367,13 @@ public class ScheduleService {
         shift.setAssignedNurses(updatedShift.getAssignedNurses());
         shift.setRequirements(updatedShift.getRequirements());
         Shift savedShift = shiftRepository.save(shift);
+        workloadService.applyShiftChange(before, savedShift);
+        conflictService.reevaluate(before, savedShift);
+        Set<String> affectedNurses = assignedNurses(before);
+        affectedNurses.addAll(assignedNurses(savedShift));
+        publishShiftChange(savedShift.getId(), ShiftChangedEvent.Action.UPDATED, affectedNurses);
         logger.info("Updated shift ID: {}", savedShift.getId());
-        return new ApiResponse<>(savedShift, "Shift updated successfully", true);
+        return new ApiResponse<>(ShiftResponse.from(savedShift, FieldSelection.ALL), "Shift updated successfully", true);
     }
 
     @Transactional
@@ -354,48 +382,119 @@ public class ScheduleService {
             logger.warn("Invalid shift ID: {}", shiftId);
             throw new IllegalArgumentException("Invalid shift ID");
         }
-        if (!shiftRepository.existsById(shiftId)) {
-            logger.error("Shift not found: {}", shiftId);
-            throw new IllegalArgumentException("Shift not found");
-        }
-        shiftRepository.deleteById(shiftId);
+        Shift shift = shiftRepository.findById(shiftId)
+                .orElseThrow(() -> {
+                    logger.error("Shift not found: {}", shiftId);
+                    return new IllegalArgumentException("Shift not found");
+                });
+        Set<String> affectedNurses = assignedNurses(shift);
+        // Generated shifts are owned by their schedule's join table
+        scheduleRepository.findByShiftId(shiftId)
+                .ifPresent(schedule -> schedule.getShifts().removeIf(s -> shiftId.equals(s.getId())));
+        shiftRepository.delete(shift);
+        workloadService.applyShiftChange(shift, null);
+        conflictService.reevaluate(shift, null);
+        publishShiftChange(shiftId, ShiftChangedEvent.Action.DELETED, affectedNurses);
         logger.info("Deleted shift ID: {}", shiftId);
         return new ApiResponse<>(null, "Shift deleted successfully", true);
     }
 
+    static Shift snapshot(Shift shift) {
+        Shift copy = new Shift();
+        copy.setId(shift.getId());
+        copy.setDate(shift.getDate());
+        copy.setStartTime(shift.getStartTime());
+        copy.setEndTime(shift.getEndTime());
+        copy.setType(shift.getType());
+        copy.setDepartment(shift.getDepartment());
+        copy.setRequiredStaff(shift.getRequiredStaff());
+        copy.setAssignedNurses(shift.getAssignedNurses() == null ? null : new ArrayList<>(shift.getAssignedNurses()));
+        copy.setRequirements(shift.getRequirements() == null ? null : new ArrayList<>(shift.getRequirements()));
+        return copy;
+    }
+
+    private Set<String> assignedNurses(Shift shift) {
+        return shift.getAssignedNurses() == null ? new HashSet<>() : new HashSet<>(shift.getAssignedNurses());
+    }
+
+    private void publishSwapChange(SwapRequest request) {
+        eventPublisher.publishEvent(new SwapRequestChangedEvent(request.getId(), request.getStatus(),
+                request.getRequesterId(), request.getTargetId()));
+    }
+
+    private void publishShiftChange(String shiftId, ShiftChangedEvent.Action action, Set<String> nurseIds) {
+        eventPublisher.publishEvent(new ShiftChangedEvent(shiftId, action, nurseIds));
+    }
+
     @Transactional
     public ApiResponse<SwapRequest> createSwapRequest(SwapRequest request) {
         if (request == null || request.getShiftId() == null || request.getRequesterId() == null) {
             logger.warn("Invalid swap request data: {}", request);
             throw new IllegalArgumentException("Invalid swap request data");
         }
-        request.setCreatedAt(LocalDateTime.now());
+        // Truncated to what the column stores, so inbox cursors compare exactly
+        request.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         request.setUpdatedAt(LocalDateTime.now());
         request.setStatus(SwapRequestStatus.Pending);
         SwapRequest savedRequest = swapRequestRepository.save(request);
+        swapInboxService.recordStatusChange(null, SwapRequestStatus.Pending);
+        publishSwapChange(savedRequest);
         logger.info("Created swap request ID: {}", savedRequest.getId());
         return new ApiResponse<>(savedRequest, "Swap request created successfully", true);
     }
 
-    @Transactional
+    // Not transactional: the approval commits in SwapApprovalService
     public ApiResponse<SwapRequest> approveSwapRequest(String requestId) {
         if (requestId == null) {
             logger.warn("Invalid swap request ID: {}", requestId);
             throw new IllegalArgumentException("Invalid swap request ID");
         }
-        SwapRequest request = swapRequestRepository.findById(requestId)
-                .orElseThrow(() -> {
-                    logger.error("Swap request not found: {}", requestId);
-                    return new IllegalArgumentException("Swap request not found");
-                });
-        request.setStatus(SwapRequestStatus.Approved);
-        request.setUpdatedAt(LocalDateTime.now());
-        request.setReviewedBy("Admin");
-        SwapRequest savedRequest = swapRequestRepository.save(request);
+        SwapRequest savedRequest = swapApprovalService.approve(requestId).get(0);
         logger.info("Approved swap request ID: {}", savedRequest.getId());
         return new ApiResponse<>(savedRequest, "Swap request approved", true);
     }
 
+    /**
+     * Approves and applies many swap requests, each in its own transaction. A request that fails
+     * its checks or meets a concurrent edit of one of its shifts is reported and skipped without
+     * touching the roster; the others still apply.
+     */
+    public ApiResponse<SwapApprovalResult> approveSwapRequests(SwapApprovalRequest approval) {
+        if (approval == null || approval.getRequestIds() == null || approval.getRequestIds().isEmpty()) {
+            logger.warn("Invalid swap approval request: {}", approval);
+            throw new IllegalArgumentException("Swap request IDs are required");
+        }
+        List<String> requestIds = approval.getRequestIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (requestIds.size() > MAX_BATCH_APPROVALS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_APPROVALS + " swap requests can be approved at once");
+        }
+
+        List<SwapRequest> approved = new ArrayList<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+        Set<String> approvedIds = new HashSet<>();
+        for (String requestId : requestIds) {
+            // Already approved as the mirror of an earlier request
+            if (approvedIds.contains(requestId)) {
+                continue;
+            }
+            try {
+                for (SwapRequest request : swapApprovalService.approve(requestId)) {
+                    approved.add(request);
+                    approvedIds.add(request.getId());
+                }
+            } catch (IllegalArgumentException e) {
+                failures.put(requestId, e.getMessage());
+            } catch (OptimisticLockingFailureException e) {
+                logger.warn("Swap request {} hit a concurrent shift edit: {}", requestId, e.getMessage());
+                failures.put(requestId, "A shift was modified by another request, reload and try again");
+            }
+        }
+
+        logger.info("Approved {} of {} swap requests", approved.size(), requestIds.size());
+        return new ApiResponse<>(new SwapApprovalResult(approved, failures),
+                String.format("Approved %d of %d swap requests", approved.size(), requestIds.size()), true);
+    }
+
     @Transactional
     public ApiResponse<SwapRequest> rejectSwapRequest(String requestId) {
         if (requestId == null) {
@@ -407,10 +506,12 @@ public class ScheduleService {
                     logger.error("Swap request not found: {}", requestId);
                     return new IllegalArgumentException("Swap request not found");
                 });
+        swapInboxService.recordStatusChange(request.getStatus(), SwapRequestStatus.Rejected);
         request.setStatus(SwapRequestStatus.Rejected);
         request.setUpdatedAt(LocalDateTime.now());
         request.setReviewedBy("Admin");
         SwapRequest savedRequest = swapRequestRepository.save(request);
+        publishSwapChange(savedRequest);
         logger.info("Rejected swap request ID: {}", savedRequest.getId());
         return new ApiResponse<>(savedRequest, "Swap request rejected", true);
     }
@@ -479,6 +580,7 @@ public class ScheduleService {
         }
 
         try {
+            long started = System.nanoTime();
             byte[] fileContent;
             String fileName;
             if (format.equalsIgnoreCase("pdf")) {
@@ -488,6 +590,7 @@ public class ScheduleService {
                 fileContent = generateExcel(schedules);
                 fileName = "schedules-" + year + "-" + months.stream().map(String::valueOf).collect(Collectors.joining("_")) + ".xlsx";
             }
+            scheduleMetrics.recordExport(format, months, System.nanoTime() - started, fileContent.length);
             logger.info("Exported {} schedules for months {} and year {} as {}", schedules.size(), months, year, format);
             return new ApiResponse<>(fileContent, "Schedules exported successfully", true);
         } catch (Exception e) {
@@ -496,7 +599,118 @@ public class ScheduleService {
         }
     }
 
+    public static boolean isStreamingFormat(String format) {
+        return "csv".equalsIgnoreCase(format) || "ndjson".equalsIgnoreCase(format);
+    }
+
+    public void validateStreamingExport(List<Integer> months, int year, String format) {
+        if (months == null || months.isEmpty() || months.stream().anyMatch(m -> m < 1 || m > 12) || year < 2000) {
+            logger.warn("Invalid export parameters: months={}, year={}", months, year);
+            throw new IllegalArgumentException("Invalid months or year");
+        }
+        if (!isStreamingFormat(format)) {
+            logger.warn("Invalid streaming export format: {}", format);
+            throw new IllegalArgumentException("Invalid format, must be 'csv' or 'ndjson'");
+        }
+    }
+
+    /**
+     * Writes one line per nurse assignment straight from a database cursor, so memory
+     * stays flat regardless of how many months are exported.
+     */
+    @Transactional(readOnly = true)
+    public void streamAssignments(List<Integer> months, int year, String format, OutputStream out) throws IOException {
+        validateStreamingExport(months, year, format);
+        long started = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        long rows;
+        try (Stream<ShiftAssignmentRow> assignments = scheduleRepository.streamAssignments(months, year)) {
+            rows = format.equalsIgnoreCase("csv") ? writeCsv(assignments, counted) : writeNdjson(assignments, counted);
+        }
+        scheduleMetrics.recordExport(format, months, System.nanoTime() - started, counted.getCount());
+        logger.info("Streamed {} assignments for months {} and year {} as {}", rows, months, year, format);
+    }
+
+    private long writeCsv(Stream<ShiftAssignmentRow> assignments, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long rows = 0;
+        for (Iterator<ShiftAssignmentRow> it = assignments.iterator(); it.hasNext(); rows++) {
+            ShiftAssignmentRow row = it.next();
+            writer.write(row.getDate().toString());
+            writer.write(',');
+            writer.write(row.getType().getValue());
+            writer.write(',');
+            writeCsvField(writer, row.getStartTime());
+            writer.write(',');
+            writeCsvField(writer, row.getEndTime());
+            writer.write(',');
+            writeCsvField(writer, row.getDepartment());
+            writer.write(',');
+            writeCsvField(writer, row.getNurseId());
+            writer.write(',');
+            writeCsvField(writer, row.getNurseName());
+            writer.write("\r\n");
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private long writeNdjson(Stream<ShiftAssignmentRow> assignments, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Iterator<ShiftAssignmentRow> it = assignments.iterator(); it.hasNext(); rows++) {
+                ShiftAssignmentRow row = it.next();
+                generator.writeStartObject();
+                generator.writeStringField("date", row.getDate().toString());
+                generator.writeStringField("shiftType", row.getType().getValue());
+                generator.writeStringField("startTime", row.getStartTime());
+                generator.writeStringField("endTime", row.getEndTime());
+                generator.writeStringField("department", row.getDepartment());
+                generator.writeStringField("nurseId", row.getNurseId());
+                generator.writeStringField("nurseName", row.getNurseName());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        return rows;
+    }
+
+    // Names of everyone assigned in the exported schedules, loaded in one query
+    private Map<String, String> nurseNames(List<Schedule> schedules) {
+        Set<String> nurseIds = schedules.stream()
+                .flatMap(schedule -> schedule.getShifts().stream())
+                .flatMap(shift -> shift.getAssignedNurses().stream())
+                .collect(Collectors.toSet());
+        Map<String, String> names = new HashMap<>();
+        nurseRepository.findAllById(nurseIds)
+                .forEach(nurse -> names.put(nurse.getId(), nurse.getFirstName() + " " + nurse.getLastName()));
+        return names;
+    }
+
     private byte[] generatePdf(List<Schedule> schedules) throws com.itextpdf.text.DocumentException {
+        Map<String, String> names = nurseNames(schedules);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         com.itextpdf.text.Document document = new com.itextpdf.text.Document(com.itextpdf.text.PageSize.A4.rotate());
         com.itextpdf.text.pdf.PdfWriter.getInstance(document, baos);
@@ -593,10 +807,7 @@ public class ScheduleService {
 
                             // Get nurse names
                             List<String> nurseNames = shift.getAssignedNurses().stream()
-                                    .map(nurseId -> {
-                                        Optional<Nurse> nurse = nurseRepository.findById(nurseId);
-                                        return nurse.map(n -> n.getFirstName() + " " + n.getLastName()).orElse("Unknown");
-                                    })
+                                    .map(nurseId -> names.getOrDefault(nurseId, "Unknown"))
                                     .toList();
 
                             // Create content with line breaks
@@ -653,6 +864,7 @@ public class ScheduleService {
     }
 
     private byte[] generateExcel(List<Schedule> schedules) {
+        Map<String, String> names = nurseNames(schedules);
         Workbook workbook = new XSSFWorkbook();
 
         // Use XSSFColor instead of Color
@@ -736,10 +948,7 @@ public class ScheduleService {
 
                     // Assigned Nurses (full names)
                     List<String> nurseNames = shift.getAssignedNurses().stream()
-                            .map(nurseId -> {
-                                Optional<Nurse> nurse = nurseRepository.findById(nurseId);
-                                return nurse.map(n -> n.getFirstName() + " " + n.getLastName()).orElse("Unknown");
-                            })
+                            .map(nurseId -> names.getOrDefault(nurseId, "Unknown"))
                             .collect(Collectors.toList());
                     row.createCell(4).setCellValue(String.join(", ", nurseNames));
                 }
@@ -0,0 +1,14 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+/**
+ * Staffing and fatigue limits shared by generation, conflict detection and swap checks.
+ */
+public final class ShiftRules {
+    public static final int MIN_NURSES_PER_SHIFT = 2;
+    public static final int MAX_NURSES_PER_SHIFT = 3;
+    public static final int MIN_REST_HOURS = 8;
+    public static final int MAX_CONSECUTIVE_WORK_DAYS = 6;
+
+    private ShiftRules() {
+    }
+}
@@ -0,0 +1,153 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import com.surf.nursepro.nurse_pro_api.event.ShiftChangedEvent;
+import com.surf.nursepro.nurse_pro_api.event.SwapRequestChangedEvent;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.repository.SwapRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Approves one swap request and applies it to the roster, together with the other half of a
+ * reciprocal pair. Each call commits on its own, so one approval of a batch that fails, including
+ * on a concurrent edit of a shift, leaves the others applied.
+ */
+@Service
+@RequiredArgsConstructor
+public class SwapApprovalService {
+    private final SwapRequestRepository swapRequestRepository;
+    private final ShiftRepository shiftRepository;
+    private final NurseRepository nurseRepository;
+    private final WorkloadService workloadService;
+    private final ConflictService conflictService;
+    private final SwapInboxService swapInboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Returns the approved request, followed by its mirror request if there was one.
+     *
+     * @throws IllegalArgumentException if the request is missing or fails its checks
+     * @throws org.springframework.dao.OptimisticLockingFailureException if either shift was changed concurrently
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<SwapRequest> approve(String requestId) {
+        SwapRequest request = swapRequestRepository.findById(requestId)
+                .orElseThrow(() -> new IllegalArgumentException("Swap request not found"));
+        applySwap(request);
+        markApproved(request);
+        List<SwapRequest> approved = new ArrayList<>();
+        approved.add(swapRequestRepository.save(request));
+        approveMirror(request).ifPresent(approved::add);
+        // Stale shift versions fail here rather than in the commit, with the same exception
+        shiftRepository.flush();
+        approved.forEach(this::publishSwapChange);
+        return approved;
+    }
+
+    /**
+     * Moves the requester off their shift and the target nurse onto it (and the reverse for the
+     * target shift, if any). Every check runs before the first change, so a rejected swap leaves
+     * the roster untouched. Concurrent edits of either shift fail the flush through
+     * {@link Shift#getVersion()}.
+     */
+    private void applySwap(SwapRequest request) {
+        if (request.getStatus() != SwapRequestStatus.Pending) {
+            throw new IllegalArgumentException("Swap request is not pending");
+        }
+        String requesterId = request.getRequesterId();
+        String targetId = request.getTargetId();
+        if (targetId == null) {
+            throw new IllegalArgumentException("Swap request has no target nurse");
+        }
+        Shift own = shiftRepository.findById(request.getShiftId())
+                .orElseThrow(() -> new IllegalArgumentException("Shift not found"));
+        Shift theirs = request.getTargetShiftId() == null ? null : shiftRepository.findById(request.getTargetShiftId())
+                .orElseThrow(() -> new IllegalArgumentException("Target shift not found"));
+        if (!assignedNurses(own).contains(requesterId)) {
+            throw new IllegalArgumentException("Requester is no longer assigned to the shift");
+        }
+        if (theirs != null && (theirs == own || !assignedNurses(theirs).contains(targetId))) {
+            throw new IllegalArgumentException("Target nurse is no longer assigned to the target shift");
+        }
+
+        List<Nurse> nurses = nurseRepository.findAllById(List.of(requesterId, targetId));
+        if (nurses.size() < 2) {
+            throw new IllegalArgumentException("Nurse not found");
+        }
+        LocalDate from = theirs == null || own.getDate().isBefore(theirs.getDate()) ? own.getDate() : theirs.getDate();
+        LocalDate to = theirs == null || own.getDate().isAfter(theirs.getDate()) ? own.getDate() : theirs.getDate();
+        SwapMatcher rules = new SwapMatcher(nurses, shiftRepository.findByAssignedNurseInAndDateBetween(
+                List.of(requesterId, targetId), from.minusDays(1), to.plusDays(1)));
+        String violation = rules.violation(targetId, own, theirs);
+        if (violation != null) {
+            throw new IllegalArgumentException("Target nurse cannot take the shift: " + violation);
+        }
+        if (theirs != null && (violation = rules.violation(requesterId, theirs, own)) != null) {
+            throw new IllegalArgumentException("Requester cannot take the target shift: " + violation);
+        }
+
+        reassign(own, requesterId, targetId);
+        if (theirs != null) {
+            reassign(theirs, targetId, requesterId);
+        }
+    }
+
+    private void reassign(Shift shift, String from, String to) {
+        Shift before = ScheduleService.snapshot(shift);
+        List<String> nurses = new ArrayList<>(shift.getAssignedNurses());
+        nurses.replaceAll(nurseId -> nurseId.equals(from) ? to : nurseId);
+        shift.setAssignedNurses(nurses);
+        Shift savedShift = shiftRepository.save(shift);
+        workloadService.applyShiftChange(before, savedShift);
+        conflictService.reevaluate(before, savedShift);
+        eventPublisher.publishEvent(new ShiftChangedEvent(savedShift.getId(), ShiftChangedEvent.Action.UPDATED,
+                new HashSet<>(List.of(from, to))));
+    }
+
+    /**
+     * Approves the other half of a reciprocal pair, which the swap just applied as well.
+     */
+    private Optional<SwapRequest> approveMirror(SwapRequest request) {
+        if (request.getTargetShiftId() == null) {
+            return Optional.empty();
+        }
+        Optional<SwapRequest> mirror = swapRequestRepository.findByStatusAndRequesterIdAndShiftId(
+                        SwapRequestStatus.Pending, request.getTargetId(), request.getTargetShiftId()).stream()
+                .filter(other -> request.getRequesterId().equals(other.getTargetId())
+                        && request.getShiftId().equals(other.getTargetShiftId()))
+                .findFirst();
+        mirror.ifPresent(other -> {
+            markApproved(other);
+            swapRequestRepository.save(other);
+        });
+        return mirror;
+    }
+
+    private void markApproved(SwapRequest request) {
+        swapInboxService.recordStatusChange(request.getStatus(), SwapRequestStatus.Approved);
+        request.setStatus(SwapRequestStatus.Approved);
+        request.setUpdatedAt(LocalDateTime.now());
+        request.setReviewedBy("Admin");
+    }
+
+    private Set<String> assignedNurses(Shift shift) {
+        return shift.getAssignedNurses() == null ? new HashSet<>() : new HashSet<>(shift.getAssignedNurses());
+    }
+
+    private void publishSwapChange(SwapRequest request) {
+        eventPublisher.publishEvent(new SwapRequestChangedEvent(request.getId(), request.getStatus(),
+                request.getRequesterId(), request.getTargetId()));
+    }
+}
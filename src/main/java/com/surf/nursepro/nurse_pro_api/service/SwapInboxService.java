@@ -0,0 +1,109 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.KeysetPage;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequestCounter;
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import com.surf.nursepro.nurse_pro_api.repository.SwapRequestCounterRepository;
+import com.surf.nursepro.nurse_pro_api.repository.SwapRequestRepository;
+import com.surf.nursepro.nurse_pro_api.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Swap request inbox: keyset pages per status plus per-status totals read from
+ * the {@link SwapRequestCounter} stripes that are adjusted with every status change.
+ */
+@Service
+@RequiredArgsConstructor
+public class SwapInboxService {
+    private static final Logger logger = LoggerFactory.getLogger(SwapInboxService.class);
+    private static final int STRIPES = 8;
+
+    private final SwapRequestRepository swapRequestRepository;
+    private final SwapRequestCounterRepository counterRepository;
+
+    @Transactional(readOnly = true)
+    public ApiResponse<KeysetPage<SwapRequest>> getInbox(SwapRequestStatus status, String requesterId, String targetId,
+                                                         LocalDate from, LocalDate to, String cursor, Integer limit) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        SwapRequestStatus listed = status == null ? SwapRequestStatus.Pending : status;
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int size = KeysetCursor.limit(limit);
+
+        List<SwapRequest> items = swapRequestRepository.findInboxPage(listed, requesterId, targetId,
+                from == null ? null : from.atStartOfDay(), to == null ? null : to.plusDays(1).atStartOfDay(),
+                after == null ? null : after.createdAt(), after == null ? null : after.id(),
+                PageRequest.ofSize(size + 1));
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            SwapRequest last = items.get(size - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (SwapRequestStatus value : SwapRequestStatus.values()) {
+            byStatus.put(value.name(), 0L);
+        }
+        for (Object[] row : counterRepository.sumByStatus()) {
+            byStatus.put(((SwapRequestStatus) row[0]).name(), ((Number) row[1]).longValue());
+        }
+
+        logger.debug("Fetched {} {} swap requests", items.size(), listed);
+        return new ApiResponse<>(new KeysetPage<>(items, nextCursor, Map.of("status", byStatus)),
+                "Swap requests retrieved successfully", true);
+    }
+
+    /**
+     * Moves one request between status counters; {@code from} is null for a new request.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(SwapRequestStatus from, SwapRequestStatus to) {
+        if (from == to) {
+            return;
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(1, STRIPES + 1);
+        if (from != null) {
+            counterRepository.increment(from.name(), stripe, -1);
+        }
+        if (to != null) {
+            counterRepository.increment(to.name(), stripe, 1);
+        }
+    }
+
+    /**
+     * Seeds the counters of statuses without a seeded stripe from the current table contents,
+     * minus the changes already counted on other stripes, both read by the seeding insert itself.
+     * Seeding inserts only if absent, so instances starting together cannot count a status twice,
+     * and the full count only ever runs on first start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeCounters() {
+        Set<SwapRequestStatus> missing = EnumSet.allOf(SwapRequestStatus.class);
+        counterRepository.findSeededStatuses().forEach(missing::remove);
+        if (missing.isEmpty()) {
+            return;
+        }
+        int seeded = 0;
+        for (SwapRequestStatus status : missing) {
+            seeded += counterRepository.seed(status.name()) > 0 ? 1 : 0;
+        }
+        logger.info("Seeded swap request counters for {} ({} inserted by this instance)", missing, seeded);
+    }
+}
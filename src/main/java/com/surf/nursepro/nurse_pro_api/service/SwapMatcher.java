@@ -0,0 +1,264 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.util.ShiftTimes;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Finds counterparts for open swap requests. Requests whose requester is not assigned to the
+ * shift are skipped.
+ * <p>
+ * Two open requests whose nurses can take each other's shift are paired first. Every other
+ * request gets the best colleague from the requester's department who can take the shift,
+ * preferably in exchange for one of their own shifts of the same type close to that date,
+ * otherwise as plain cover. Candidates are checked for qualification, availability, overlaps
+ * and {@link ShiftRules#MIN_REST_HOURS}; each nurse's roster is indexed by date so these checks
+ * only look at neighbouring days. Matches made earlier in the batch are reflected in the
+ * rosters, so one batch never double-books a nurse or offers a shift twice.
+ */
+final class SwapMatcher {
+    static final int WINDOW_DAYS = 7;
+
+    record Match(SwapRequest request, String targetId, String targetShiftId) {
+    }
+
+    private final Map<String, Nurse> nurses = new HashMap<>();
+    private final Map<String, List<String>> colleagues = new HashMap<>();
+    private final Map<String, Set<String>> skills = new HashMap<>();
+    private final Map<String, Set<LocalDate>> unavailable = new HashMap<>();
+    private final Map<String, Shift> shifts = new HashMap<>();
+    private final Map<String, NavigableMap<LocalDate, List<Shift>>> rosters = new HashMap<>();
+    private final Set<String> claimed = new HashSet<>();
+
+    SwapMatcher(Collection<Nurse> nurses, Collection<Shift> shifts) {
+        for (Nurse nurse : nurses) {
+            this.nurses.put(nurse.getId(), nurse);
+            colleagues.computeIfAbsent(nurse.getDepartment(), k -> new ArrayList<>()).add(nurse.getId());
+            skills.put(nurse.getId(), normalized(nurse.getSpecializations()));
+            unavailable.put(nurse.getId(), nurse.getUnavailableDates() == null
+                    ? Set.of() : new HashSet<>(nurse.getUnavailableDates()));
+        }
+        for (Shift shift : shifts) {
+            this.shifts.put(shift.getId(), shift);
+            if (shift.getAssignedNurses() != null) {
+                shift.getAssignedNurses().forEach(nurseId -> roster(nurseId)
+                        .computeIfAbsent(shift.getDate(), k -> new ArrayList<>()).add(shift));
+            }
+        }
+    }
+
+    List<Match> match(List<SwapRequest> requests) {
+        List<SwapRequest> open = requests.stream()
+                .filter(request -> shifts.containsKey(request.getShiftId()) && nurses.containsKey(request.getRequesterId()))
+                // A requester no longer on the shift has nothing to give away
+                .filter(request -> assigned(shifts.get(request.getShiftId()), request.getRequesterId()))
+                .sorted(Comparator.comparing((SwapRequest request) -> shifts.get(request.getShiftId()).getDate())
+                        .thenComparing(SwapRequest::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        List<Match> matches = new ArrayList<>();
+        Set<String> matched = new HashSet<>();
+        pairReciprocal(open, matches, matched);
+        for (SwapRequest request : open) {
+            if (!matched.contains(request.getId())) {
+                propose(request).ifPresent(matches::add);
+            }
+        }
+        return matches;
+    }
+
+    private void pairReciprocal(List<SwapRequest> open, List<Match> matches, Set<String> matched) {
+        Map<String, List<SwapRequest>> byDepartment = new HashMap<>();
+        open.forEach(request -> byDepartment
+                .computeIfAbsent(nurses.get(request.getRequesterId()).getDepartment(), k -> new ArrayList<>())
+                .add(request));
+
+        for (List<SwapRequest> group : byDepartment.values()) {
+            // Groups are ordered by shift date, so candidates lie in a contiguous run after i
+            for (int i = 0; i < group.size(); i++) {
+                SwapRequest request = group.get(i);
+                if (matched.contains(request.getId())) {
+                    continue;
+                }
+                Shift own = shifts.get(request.getShiftId());
+                SwapRequest best = null;
+                long bestScore = Long.MAX_VALUE;
+                for (int j = i + 1; j < group.size(); j++) {
+                    SwapRequest other = group.get(j);
+                    Shift theirs = shifts.get(other.getShiftId());
+                    if (ChronoUnit.DAYS.between(own.getDate(), theirs.getDate()) > WINDOW_DAYS) {
+                        break;
+                    }
+                    if (matched.contains(other.getId()) || other.getRequesterId().equals(request.getRequesterId())
+                            || !canTake(request.getRequesterId(), theirs, own)
+                            || !canTake(other.getRequesterId(), own, theirs)) {
+                        continue;
+                    }
+                    long score = score(own, theirs, 0);
+                    if (score < bestScore) {
+                        best = other;
+                        bestScore = score;
+                    }
+                }
+                if (best != null) {
+                    Shift theirs = shifts.get(best.getShiftId());
+                    exchange(request.getRequesterId(), own, best.getRequesterId(), theirs);
+                    matched.add(request.getId());
+                    matched.add(best.getId());
+                    matches.add(new Match(request, best.getRequesterId(), theirs.getId()));
+                    matches.add(new Match(best, request.getRequesterId(), own.getId()));
+                }
+            }
+        }
+    }
+
+    private Optional<Match> propose(SwapRequest request) {
+        String requesterId = request.getRequesterId();
+        Shift own = shifts.get(request.getShiftId());
+        if (claimed.contains(own.getId())) {
+            return Optional.empty();
+        }
+
+        String bestNurse = null;
+        Shift bestShift = null;
+        long bestScore = Long.MAX_VALUE;
+        for (String candidateId : colleagues.getOrDefault(nurses.get(requesterId).getDepartment(), List.of())) {
+            if (candidateId.equals(requesterId) || !canTake(candidateId, own, null)) {
+                continue;
+            }
+            long hours = hoursAround(candidateId, own.getDate());
+            for (List<Shift> day : roster(candidateId)
+                    .subMap(own.getDate().minusDays(WINDOW_DAYS), true, own.getDate().plusDays(WINDOW_DAYS), true)
+                    .values()) {
+                for (Shift theirs : day) {
+                    if (claimed.contains(theirs.getId()) || !canTake(requesterId, theirs, own)
+                            || !canTake(candidateId, own, theirs)) {
+                        continue;
+                    }
+                    long score = score(own, theirs, hours);
+                    if (score < bestScore) {
+                        bestNurse = candidateId;
+                        bestShift = theirs;
+                        bestScore = score;
+                    }
+                }
+            }
+            // Plain cover ranks below any exchange
+            long coverScore = 1_000_000 + hours;
+            if (coverScore < bestScore) {
+                bestNurse = candidateId;
+                bestShift = null;
+                bestScore = coverScore;
+            }
+        }
+
+        if (bestNurse == null) {
+            return Optional.empty();
+        }
+        if (bestShift == null) {
+            move(own, requesterId, bestNurse);
+            claimed.add(own.getId());
+            return Optional.of(new Match(request, bestNurse, null));
+        }
+        exchange(requesterId, own, bestNurse, bestShift);
+        return Optional.of(new Match(request, bestNurse, bestShift.getId()));
+    }
+
+    /**
+     * Whether the nurse can work {@code take}, assuming they give up {@code give} (may be null).
+     */
+    private boolean canTake(String nurseId, Shift take, Shift give) {
+        return violation(nurseId, take, give) == null;
+    }
+
+    /**
+     * Why the nurse cannot work {@code take} after giving up {@code give} (may be null), or null
+     * if nothing prevents it.
+     */
+    String violation(String nurseId, Shift take, Shift give) {
+        if (roster(nurseId).getOrDefault(take.getDate(), List.of()).stream().anyMatch(shift -> shift == take)) {
+            return "Nurse is already assigned to the shift";
+        }
+        if (unavailable.getOrDefault(nurseId, Set.of()).contains(take.getDate())) {
+            return "Nurse is unavailable on " + take.getDate();
+        }
+        if (!skills.getOrDefault(nurseId, Set.of()).containsAll(normalized(take.getRequirements()))) {
+            return "Nurse lacks the qualifications the shift requires";
+        }
+        if (take.getStartTime() == null || take.getEndTime() == null) {
+            return null;
+        }
+
+        LocalDateTime start = ShiftTimes.start(take);
+        LocalDateTime end = ShiftTimes.end(take);
+        Duration rest = Duration.ofHours(ShiftRules.MIN_REST_HOURS);
+        for (List<Shift> day : roster(nurseId).subMap(take.getDate().minusDays(1), true, take.getDate().plusDays(1), true).values()) {
+            for (Shift other : day) {
+                if (other == give || other.getStartTime() == null || other.getEndTime() == null) {
+                    continue;
+                }
+                LocalDateTime otherStart = ShiftTimes.start(other);
+                LocalDateTime otherEnd = ShiftTimes.end(other);
+                if (start.isBefore(otherEnd.plus(rest)) && otherStart.isBefore(end.plus(rest))) {
+                    return "Nurse would get less than " + ShiftRules.MIN_REST_HOURS + " hours of rest around the shift";
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean assigned(Shift shift, String nurseId) {
+        return shift.getAssignedNurses() != null && shift.getAssignedNurses().contains(nurseId);
+    }
+
+    private long score(Shift own, Shift theirs, long hours) {
+        long typePenalty = own.getType() == theirs.getType() ? 0 : 1000;
+        long distance = Math.abs(ChronoUnit.DAYS.between(own.getDate(), theirs.getDate()));
+        return typePenalty + distance * 100 + hours;
+    }
+
+    private long hoursAround(String nurseId, LocalDate date) {
+        double hours = 0;
+        for (List<Shift> day : roster(nurseId).subMap(date.minusDays(WINDOW_DAYS), true, date.plusDays(WINDOW_DAYS), true).values()) {
+            for (Shift shift : day) {
+                hours += ShiftTimes.hours(shift);
+            }
+        }
+        return Math.round(hours);
+    }
+
+    private void exchange(String nurseA, Shift shiftA, String nurseB, Shift shiftB) {
+        move(shiftA, nurseA, nurseB);
+        move(shiftB, nurseB, nurseA);
+        claimed.add(shiftA.getId());
+        claimed.add(shiftB.getId());
+    }
+
+    private void move(Shift shift, String from, String to) {
+        List<Shift> day = roster(from).get(shift.getDate());
+        if (day != null) {
+            day.removeIf(other -> other == shift);
+        }
+        roster(to).computeIfAbsent(shift.getDate(), k -> new ArrayList<>()).add(shift);
+    }
+
+    private NavigableMap<LocalDate, List<Shift>> roster(String nurseId) {
+        return rosters.computeIfAbsent(nurseId, k -> new TreeMap<>());
+    }
+
+    private static Set<String> normalized(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        values.forEach(value -> result.add(value.trim().toLowerCase()));
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import com.surf.nursepro.nurse_pro_api.event.SwapRequestChangedEvent;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.repository.SwapRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Fills in the counterpart of pending swap requests that have none, see {@link SwapMatcher}.
+ * Matched requests stay pending and are flagged {@code autoMatched} until a manager approves
+ * or rejects them.
+ */
+@Service
+@RequiredArgsConstructor
+public class SwapMatchingService {
+    private static final Logger logger = LoggerFactory.getLogger(SwapMatchingService.class);
+
+    private final SwapRequestRepository swapRequestRepository;
+    private final ShiftRepository shiftRepository;
+    private final NurseRepository nurseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public ApiResponse<List<SwapRequest>> autoMatch() {
+        long started = System.nanoTime();
+        List<SwapRequest> open = swapRequestRepository.findByStatus(SwapRequestStatus.Pending).stream()
+                .filter(request -> request.getTargetId() == null && request.getShiftId() != null)
+                .toList();
+        if (open.isEmpty()) {
+            return new ApiResponse<>(List.of(), "No open swap requests to match", true);
+        }
+
+        List<Shift> requestShifts = shiftRepository.findAllById(open.stream().map(SwapRequest::getShiftId).collect(Collectors.toSet()));
+        if (requestShifts.isEmpty()) {
+            return new ApiResponse<>(List.of(), "No open swap requests to match", true);
+        }
+        LocalDate from = requestShifts.stream().map(Shift::getDate).min(LocalDate::compareTo).orElseThrow()
+                .minusDays(SwapMatcher.WINDOW_DAYS + 1);
+        LocalDate to = requestShifts.stream().map(Shift::getDate).max(LocalDate::compareTo).orElseThrow()
+                .plusDays(SwapMatcher.WINDOW_DAYS + 1);
+
+        Set<String> departments = nurseRepository.findAllById(open.stream().map(SwapRequest::getRequesterId).collect(Collectors.toSet()))
+                .stream()
+                .map(Nurse::getDepartment)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<Nurse> nurses = nurseRepository.findByDepartmentIn(departments);
+        List<SwapMatcher.Match> matches = new SwapMatcher(nurses, shiftRepository.findByDateBetween(from, to)).match(open);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SwapRequest> matched = new ArrayList<>(matches.size());
+        for (SwapMatcher.Match match : matches) {
+            SwapRequest request = match.request();
+            request.setTargetId(match.targetId());
+            request.setTargetShiftId(match.targetShiftId());
+            request.setAutoMatched(true);
+            request.setUpdatedAt(now);
+            matched.add(request);
+        }
+        swapRequestRepository.saveAll(matched);
+        matched.forEach(request -> eventPublisher.publishEvent(new SwapRequestChangedEvent(request.getId(),
+                request.getStatus(), request.getRequesterId(), request.getTargetId())));
+
+        logger.info("Auto-matched {} of {} open swap requests in {} ms", matched.size(), open.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return new ApiResponse<>(matched, "Matched " + matched.size() + " of " + open.size() + " swap requests", true);
+    }
+}
@@ -0,0 +1,166 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.config.JwtUtil;
+import com.surf.nursepro.nurse_pro_api.config.VerifiedToken;
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.entity.RevokedToken;
+import com.surf.nursepro.nurse_pro_api.repository.RevokedTokenRepository;
+import com.surf.nursepro.nurse_pro_api.util.BloomFilter;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked JWTs, stored by token id in {@code revoked_tokens} until the token would have expired
+ * anyway. Lookups go through an in-memory Bloom filter first, so only a possible match costs
+ * a database query. The filter picks up revocations made by other instances every
+ * {@code jwt.revocation.sync-seconds} and is rebuilt without expired entries every
+ * {@code jwt.revocation.purge-minutes}.
+ */
+@Service
+public class TokenRevocationService implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final long syncSeconds;
+    private final long purgeMinutes;
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Held by revoke() while adding to the filter and by rebuild() from its snapshot to the swap,
+    // so a revocation made during a rebuild always ends up in the filter that is swapped in
+    private final Object filterLock = new Object();
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+    private volatile boolean running;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtUtil jwtUtil,
+                                  @Value("${jwt.revocation.expected-entries:100000}") long expectedEntries,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                  @Value("${jwt.revocation.sync-seconds:30}") long syncSeconds,
+                                  @Value("${jwt.revocation.purge-minutes:60}") long purgeMinutes) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncSeconds = syncSeconds;
+        this.purgeMinutes = purgeMinutes;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.lastSync = LocalDateTime.now();
+    }
+
+    // Loaded on start rather than on construction, so a context refreshed without a database
+    // (the CDS training run) does not need one
+    @Override
+    public void start() {
+        rebuild();
+        maintenance.scheduleWithFixedDelay(this::sync, syncSeconds, syncSeconds, TimeUnit.SECONDS);
+        maintenance.scheduleWithFixedDelay(this::purge, purgeMinutes, purgeMinutes, TimeUnit.MINUTES);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        maintenance.shutdownNow();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server starts accepting requests
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    @Transactional
+    public ApiResponse<Void> revoke(String token) {
+        VerifiedToken verified;
+        try {
+            verified = jwtUtil.verify(token);
+        } catch (ExpiredJwtException e) {
+            return new ApiResponse<>(null, "Token has already expired", true);
+        } catch (JwtException e) {
+            logger.warn("Refusing to revoke invalid token: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JWT token");
+        }
+        if (verified.tokenId() == null) {
+            throw new IllegalArgumentException("Token has no ID and cannot be revoked");
+        }
+
+        RevokedToken revoked = new RevokedToken();
+        revoked.setTokenId(verified.tokenId());
+        revoked.setUserId(verified.userId());
+        revoked.setExpiresAt(LocalDateTime.ofInstant(verified.expiresAt(), ZoneId.systemDefault()));
+        revoked.setRevokedAt(LocalDateTime.now());
+        revokedTokenRepository.save(revoked);
+        synchronized (filterLock) {
+            filter.add(verified.tokenId());
+        }
+        logger.info("Revoked token {} of user {}", verified.tokenId(), verified.userId());
+        return new ApiResponse<>(null, "Token revoked", true);
+    }
+
+    private void sync() {
+        try {
+            LocalDateTime since = lastSync;
+            // Overlap a little so revocations committed during the last sync are not missed
+            lastSync = LocalDateTime.now();
+            List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedSince(since.minusSeconds(syncSeconds));
+            BloomFilter current = filter;
+            tokenIds.forEach(current::add);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to sync revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    private void purge() {
+        try {
+            int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+            rebuild();
+            logger.debug("Purged {} expired revoked tokens", purged);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to purge revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        synchronized (filterLock) {
+            LocalDateTime now = LocalDateTime.now();
+            List<String> tokenIds = revokedTokenRepository.findActiveTokenIds(now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, tokenIds.size() * 2L), falsePositiveRate);
+            tokenIds.forEach(rebuilt::add);
+            filter = rebuilt;
+            lastSync = now;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.WorkloadData;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.util.ShiftTimes;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Single pass workload aggregation for one month. Shifts must be fed in start order; per-nurse
+ * running state lives in parallel primitive arrays indexed by a dense nurse slot, so the pass is
+ * linear in the number of assignments and allocates nothing per nurse assignment.
+ * <p>
+ * Overtime is measured per ISO week (Monday to Sunday) against {@link Nurse#getMaxHoursPerWeek()};
+ * a limit of zero or less means no limit. Hours count towards the day the shift starts. Weeks and
+ * runs of consecutive days do not stop at the month boundary: shifts from {@link #windowStart} to
+ * {@link #windowEnd} should be fed as well, and those outside the month only count towards the
+ * week's hours and the runs. Overtime belongs to the month in which the hours over the limit are
+ * worked, so a week split across two months is never counted twice; a run counts in full for
+ * every month it touches.
+ */
+final class WorkloadAggregator {
+    private static final long NO_DAY = Long.MIN_VALUE;
+
+    private final YearMonth period;
+    private final long firstDay;
+    private final long lastDay;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private String[] nurseIds;
+    private int[] maxHoursPerWeek;
+    private int[] shiftsCount;
+    private int[] nightShifts;
+    private int[] weekendShifts;
+    private double[] totalHours;
+    private double[] overtimeHours;
+    private double[] weekHours;
+    private long[] currentWeek;
+    private long[] lastWorkDay;
+    private int[] currentRun;
+    private int[] longestRun;
+    private boolean[] runInPeriod;
+    private int size;
+
+    WorkloadAggregator(Collection<Nurse> nurses, YearMonth period) {
+        this.period = period;
+        firstDay = period.atDay(1).toEpochDay();
+        lastDay = period.atEndOfMonth().toEpochDay();
+        allocate(Math.max(16, nurses.size()));
+        for (Nurse nurse : nurses) {
+            maxHoursPerWeek[slot(nurse.getId())] = nurse.getMaxHoursPerWeek();
+        }
+    }
+
+    /**
+     * Monday of the ISO week holding the first day of the month.
+     */
+    static LocalDate windowStart(YearMonth period) {
+        return period.atDay(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Sunday of the ISO week holding the last day of the month.
+     */
+    static LocalDate windowEnd(YearMonth period) {
+        return period.atEndOfMonth().with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+    }
+
+    void accept(Shift shift) {
+        if (shift.getAssignedNurses() == null || shift.getAssignedNurses().isEmpty()) {
+            return;
+        }
+        ShiftFacts facts = new ShiftFacts(shift);
+        for (String nurseId : shift.getAssignedNurses()) {
+            record(slot(nurseId), facts);
+        }
+    }
+
+    /**
+     * Records a shift for one nurse only, without touching the shift's assignment collection.
+     */
+    void accept(Shift shift, String nurseId) {
+        record(slot(nurseId), new ShiftFacts(shift));
+    }
+
+    private void record(int i, ShiftFacts shift) {
+        boolean inPeriod = shift.day >= firstDay && shift.day <= lastDay;
+        if (inPeriod) {
+            shiftsCount[i]++;
+            totalHours[i] += shift.hours;
+            if (shift.night) {
+                nightShifts[i]++;
+            }
+            if (shift.weekend) {
+                weekendShifts[i]++;
+            }
+        }
+
+        if (currentWeek[i] != shift.week) {
+            currentWeek[i] = shift.week;
+            weekHours[i] = 0;
+        }
+        double before = weekHours[i];
+        weekHours[i] += shift.hours;
+        if (inPeriod && maxHoursPerWeek[i] > 0) {
+            overtimeHours[i] += Math.max(0, weekHours[i] - maxHoursPerWeek[i]) - Math.max(0, before - maxHoursPerWeek[i]);
+        }
+
+        if (lastWorkDay[i] != shift.day) {
+            if (lastWorkDay[i] == shift.day - 1) {
+                currentRun[i]++;
+            } else {
+                currentRun[i] = 1;
+                runInPeriod[i] = false;
+            }
+            runInPeriod[i] |= inPeriod;
+            if (runInPeriod[i]) {
+                longestRun[i] = Math.max(longestRun[i], currentRun[i]);
+            }
+            lastWorkDay[i] = shift.day;
+        }
+    }
+
+    /**
+     * Returns one entry per nurse that worked at least one shift in the month.
+     */
+    List<WorkloadData> finish() {
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkloadData> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (shiftsCount[i] == 0) {
+                continue;
+            }
+            WorkloadData data = new WorkloadData();
+            data.setNurseId(nurseIds[i]);
+            data.setMonth(period.getMonthValue());
+            data.setYear(period.getYear());
+            data.setShiftsCount(shiftsCount[i]);
+            data.setTotalHours(totalHours[i]);
+            data.setOvertimeHours(overtimeHours[i]);
+            data.setNightShifts(nightShifts[i]);
+            data.setWeekendShifts(weekendShifts[i]);
+            data.setConsecutiveDays(longestRun[i]);
+            data.setCreatedAt(now);
+            data.setUpdatedAt(now);
+            result.add(data);
+        }
+        return result;
+    }
+
+    private int slot(String nurseId) {
+        Integer existing = slots.get(nurseId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == nurseIds.length) {
+            grow(size * 2);
+        }
+        nurseIds[size] = nurseId;
+        slots.put(nurseId, size);
+        return size++;
+    }
+
+    private void allocate(int capacity) {
+        nurseIds = new String[capacity];
+        maxHoursPerWeek = new int[capacity];
+        shiftsCount = new int[capacity];
+        nightShifts = new int[capacity];
+        weekendShifts = new int[capacity];
+        totalHours = new double[capacity];
+        overtimeHours = new double[capacity];
+        weekHours = new double[capacity];
+        currentWeek = new long[capacity];
+        lastWorkDay = new long[capacity];
+        currentRun = new int[capacity];
+        longestRun = new int[capacity];
+        runInPeriod = new boolean[capacity];
+        Arrays.fill(currentWeek, NO_DAY);
+        Arrays.fill(lastWorkDay, NO_DAY);
+    }
+
+    private void grow(int capacity) {
+        nurseIds = Arrays.copyOf(nurseIds, capacity);
+        maxHoursPerWeek = Arrays.copyOf(maxHoursPerWeek, capacity);
+        shiftsCount = Arrays.copyOf(shiftsCount, capacity);
+        nightShifts = Arrays.copyOf(nightShifts, capacity);
+        weekendShifts = Arrays.copyOf(weekendShifts, capacity);
+        totalHours = Arrays.copyOf(totalHours, capacity);
+        overtimeHours = Arrays.copyOf(overtimeHours, capacity);
+        weekHours = Arrays.copyOf(weekHours, capacity);
+        currentWeek = Arrays.copyOf(currentWeek, capacity);
+        lastWorkDay = Arrays.copyOf(lastWorkDay, capacity);
+        currentRun = Arrays.copyOf(currentRun, capacity);
+        longestRun = Arrays.copyOf(longestRun, capacity);
+        runInPeriod = Arrays.copyOf(runInPeriod, capacity);
+        Arrays.fill(currentWeek, size, capacity, NO_DAY);
+        Arrays.fill(lastWorkDay, size, capacity, NO_DAY);
+    }
+
+    private static final class ShiftFacts {
+        final long day;
+        final long week;
+        final double hours;
+        final boolean night;
+        final boolean weekend;
+
+        ShiftFacts(Shift shift) {
+            day = shift.getDate().toEpochDay();
+            week = Math.floorDiv(day + 3, 7); // epoch day 0 is a Thursday
+            hours = ShiftTimes.hours(shift);
+            night = shift.getType() == ShiftType.Night;
+            weekend = shift.getDate().getDayOfWeek().getValue() >= 6;
+        }
+    }
+}
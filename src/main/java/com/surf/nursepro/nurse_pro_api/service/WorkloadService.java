@@ -0,0 +1,338 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.WorkloadRangeRequest;
+import com.surf.nursepro.nurse_pro_api.dto.WorkloadRangeResult;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Schedule;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.WorkloadData;
+import com.surf.nursepro.nurse_pro_api.entity.YearlyWorkload;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.repository.WorkloadDataRepository;
+import com.surf.nursepro.nurse_pro_api.repository.YearlyWorkloadRepository;
+import com.surf.nursepro.nurse_pro_api.util.ShiftTimes;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link WorkloadData} in step with shift assignments. Generation computes it in one
+ * pass; every later assignment change is applied as a delta to the affected nurse and month.
+ * <p>
+ * {@link WorkloadData} doubles as the monthly rollup per nurse; {@link YearlyWorkload} is
+ * re-summed from it for the affected nurses whenever a month changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkloadService {
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadService.class);
+
+    private final WorkloadDataRepository workloadDataRepository;
+    private final ShiftRepository shiftRepository;
+    private final NurseRepository nurseRepository;
+    private final YearlyWorkloadRepository yearlyWorkloadRepository;
+
+    private static final int MAX_RANGE_NURSES = 1000;
+    private static final int MAX_RANGE_MONTHS = 60;
+    // Shifts without times come last on their day, as in conflict detection
+    private static final Comparator<Shift> BY_START = Comparator.comparing(Shift::getDate)
+            .thenComparing(Shift::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuildForSchedule(Schedule schedule, List<Nurse> nurses) {
+        YearMonth period = YearMonth.of(schedule.getYear(), schedule.getMonth());
+        // Every shift of the month, including ones created before the schedule, and the weeks at
+        // either end that reach into the neighbouring months; the schedule's shifts are flushed
+        List<Shift> shifts = shiftsBetween(WorkloadAggregator.windowStart(period), WorkloadAggregator.windowEnd(period));
+        shifts.sort(BY_START);
+
+        WorkloadAggregator aggregator = new WorkloadAggregator(nurses, period);
+        shifts.forEach(aggregator::accept);
+        List<WorkloadData> workload = aggregator.finish();
+
+        // Shifts created earlier in the month already have rows, which are overwritten in place
+        Map<String, WorkloadData> existing = workloadDataRepository.findByMonthAndYear(period.getMonthValue(), period.getYear())
+                .stream().collect(Collectors.toMap(WorkloadData::getNurseId, Function.identity()));
+        Set<String> nurseIds = new HashSet<>(existing.keySet());
+        List<WorkloadData> inserted = new ArrayList<>();
+        for (WorkloadData fresh : workload) {
+            nurseIds.add(fresh.getNurseId());
+            WorkloadData row = existing.remove(fresh.getNurseId());
+            if (row == null) {
+                inserted.add(fresh);
+                continue;
+            }
+            row.setShiftsCount(fresh.getShiftsCount());
+            row.setTotalHours(fresh.getTotalHours());
+            row.setOvertimeHours(fresh.getOvertimeHours());
+            row.setNightShifts(fresh.getNightShifts());
+            row.setWeekendShifts(fresh.getWeekendShifts());
+            row.setConsecutiveDays(fresh.getConsecutiveDays());
+            row.setUpdatedAt(fresh.getUpdatedAt());
+        }
+        workloadDataRepository.saveAll(inserted);
+        if (!existing.isEmpty()) {
+            workloadDataRepository.deleteAll(existing.values());
+        }
+        refreshYearly(nurseIds, schedule.getYear());
+        for (YearMonth neighbour : List.of(period.minusMonths(1), period.plusMonths(1))) {
+            if (!WorkloadAggregator.windowStart(neighbour).isAfter(period.atEndOfMonth())
+                    && !WorkloadAggregator.windowEnd(neighbour).isBefore(period.atDay(1))) {
+                refreshDerived(neighbour, nurses);
+            }
+        }
+        logger.debug("Updated workload data for {} nurses", workload.size());
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<WorkloadRangeResult> getWorkloadRange(WorkloadRangeRequest request) {
+        if (request == null || !validMonth(request.getFromMonth(), request.getFromYear())
+                || !validMonth(request.getToMonth(), request.getToYear())) {
+            logger.warn("Invalid workload range parameters: {}", request);
+            throw new IllegalArgumentException("Invalid month range");
+        }
+        int fromPeriod = request.getFromYear() * 12 + request.getFromMonth();
+        int toPeriod = request.getToYear() * 12 + request.getToMonth();
+        if (fromPeriod > toPeriod || toPeriod - fromPeriod >= MAX_RANGE_MONTHS) {
+            throw new IllegalArgumentException("Month range must be ascending and at most " + MAX_RANGE_MONTHS + " months");
+        }
+
+        Set<String> nurseIds = new LinkedHashSet<>();
+        if (request.getNurseIds() != null) {
+            nurseIds.addAll(request.getNurseIds());
+        }
+        if (request.getDepartment() != null && !request.getDepartment().isBlank()) {
+            nurseIds.addAll(nurseRepository.findIdsByDepartment(request.getDepartment().trim()));
+        }
+        if (nurseIds.isEmpty()) {
+            throw new IllegalArgumentException("Provide nurse IDs or a department with nurses");
+        }
+        if (nurseIds.size() > MAX_RANGE_NURSES) {
+            throw new IllegalArgumentException("At most " + MAX_RANGE_NURSES + " nurses per request");
+        }
+
+        List<WorkloadData> monthly = workloadDataRepository.findByNurseIdInAndPeriodBetween(nurseIds,
+                request.getFromYear(), request.getFromMonth(), request.getToYear(), request.getToMonth());
+        List<YearlyWorkload> yearly = yearlyWorkloadRepository.findByNurseIdInAndYearBetweenOrderByNurseIdAscYearAsc(
+                nurseIds, request.getFromYear(), request.getToYear());
+        logger.debug("Retrieved {} monthly and {} yearly workload rows for {} nurses",
+                monthly.size(), yearly.size(), nurseIds.size());
+        return new ApiResponse<>(new WorkloadRangeResult(monthly, yearly), "Workload data retrieved successfully", true);
+    }
+
+    /**
+     * Applies the workload difference between two versions of a shift. {@code before} is null
+     * for a newly created shift and {@code after} is null for a deleted one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyShiftChange(Shift before, Shift after) {
+        Set<String> oldNurses = nurses(before);
+        Set<String> newNurses = nurses(after);
+
+        if (before != null && after != null && sameSlot(before, after)) {
+            // Only the assignment changed: touch just the nurses that were added or removed
+            Set<String> removed = new HashSet<>(oldNurses);
+            removed.removeAll(newNurses);
+            Set<String> added = new HashSet<>(newNurses);
+            added.removeAll(oldNurses);
+            oldNurses = removed;
+            newNurses = added;
+        }
+
+        // Yearly rollups are re-summed once per year for both halves of the change
+        Map<Integer, Set<String>> rollups = new TreeMap<>();
+        if (before != null) {
+            applyDelta(before, oldNurses, -1, rollups);
+        }
+        if (after != null) {
+            applyDelta(after, newNurses, 1, rollups);
+        }
+        rollups.forEach((year, nurseIds) -> refreshYearly(nurseIds, year));
+    }
+
+    private void applyDelta(Shift shift, Collection<String> nurseIds, int sign, Map<Integer, Set<String>> rollups) {
+        if (nurseIds.isEmpty()) {
+            return;
+        }
+        if (shift.getDate() == null) {
+            logger.warn("Skipping workload update for shift {} without a date", shift.getId());
+            return;
+        }
+        YearMonth period = YearMonth.from(shift.getDate());
+        int nights = shift.getType() == ShiftType.Night ? sign : 0;
+        int weekends = isWeekend(shift) ? sign : 0;
+        double hours = sign * ShiftTimes.hours(shift);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (String nurseId : nurseIds) {
+            if (sign > 0) {
+                workloadDataRepository.upsertDelta(UUID.randomUUID().toString(), nurseId, period.getMonthValue(),
+                        period.getYear(), sign, hours, nights, weekends, now);
+            } else {
+                workloadDataRepository.applyDelta(nurseId, period.getMonthValue(), period.getYear(),
+                        sign, hours, nights, weekends, now);
+                // A nurse without shifts has no row after a full rebuild either
+                workloadDataRepository.deleteIfEmpty(nurseId, period.getMonthValue(), period.getYear());
+            }
+            refreshDerived(nurseId, period);
+        }
+        rollups.computeIfAbsent(period.getYear(), year -> new HashSet<>()).addAll(nurseIds);
+        // A shift in a week that spans two months also changes the other month's overtime and runs
+        for (YearMonth neighbour : List.of(period.minusMonths(1), period.plusMonths(1))) {
+            if (!shift.getDate().isBefore(WorkloadAggregator.windowStart(neighbour))
+                    && !shift.getDate().isAfter(WorkloadAggregator.windowEnd(neighbour))) {
+                nurseIds.forEach(nurseId -> refreshDerived(nurseId, neighbour));
+                rollups.computeIfAbsent(neighbour.getYear(), year -> new HashSet<>()).addAll(nurseIds);
+            }
+        }
+        logger.debug("Applied workload delta {} for shift {} to {} nurses", sign, shift.getId(), nurseIds.size());
+    }
+
+    /**
+     * Overtime and consecutive days are not additive, so they are recomputed from the nurse's
+     * shifts in the month and the rest of its first and last weeks.
+     */
+    private void refreshDerived(String nurseId, YearMonth period) {
+        List<Nurse> nurse = nurseRepository.findById(nurseId).map(List::of).orElse(List.of());
+        WorkloadAggregator aggregator = new WorkloadAggregator(nurse, period);
+        shiftRepository.findByAssignedNurseAndDateBetween(nurseId, WorkloadAggregator.windowStart(period),
+                        WorkloadAggregator.windowEnd(period))
+                .forEach(shift -> aggregator.accept(shift, nurseId));
+
+        List<WorkloadData> result = aggregator.finish();
+        double overtime = result.isEmpty() ? 0 : result.get(0).getOvertimeHours();
+        int consecutive = result.isEmpty() ? 0 : result.get(0).getConsecutiveDays();
+        workloadDataRepository.updateDerived(nurseId, period.getMonthValue(), period.getYear(), overtime, consecutive);
+    }
+
+    /**
+     * Recomputes overtime and consecutive days of every nurse with workload in the month, after
+     * shifts in its first or last week were generated.
+     */
+    private void refreshDerived(YearMonth period, List<Nurse> nurses) {
+        List<WorkloadData> rows = workloadDataRepository.findByMonthAndYear(period.getMonthValue(), period.getYear());
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Shift> shifts = shiftsBetween(WorkloadAggregator.windowStart(period), WorkloadAggregator.windowEnd(period));
+        shifts.sort(BY_START);
+        WorkloadAggregator aggregator = new WorkloadAggregator(nurses, period);
+        shifts.forEach(aggregator::accept);
+        Map<String, WorkloadData> derived = aggregator.finish().stream()
+                .collect(Collectors.toMap(WorkloadData::getNurseId, Function.identity()));
+
+        List<String> changed = new ArrayList<>();
+        for (WorkloadData row : rows) {
+            WorkloadData fresh = derived.get(row.getNurseId());
+            double overtime = fresh == null ? 0 : fresh.getOvertimeHours();
+            int consecutive = fresh == null ? 0 : fresh.getConsecutiveDays();
+            if (row.getOvertimeHours() != overtime || row.getConsecutiveDays() != consecutive) {
+                row.setOvertimeHours(overtime);
+                row.setConsecutiveDays(consecutive);
+                changed.add(row.getNurseId());
+            }
+        }
+        refreshYearly(changed, period.getYear());
+    }
+
+    private List<Shift> shiftsBetween(LocalDate from, LocalDate to) {
+        return from.isAfter(to) ? new ArrayList<>() : new ArrayList<>(shiftRepository.findByDateBetween(from, to));
+    }
+
+    private void refreshYearly(Collection<String> nurseIds, int year) {
+        if (nurseIds.isEmpty()) {
+            return;
+        }
+        Map<String, YearlyWorkload> existing = yearlyWorkloadRepository.findByNurseIdInAndYear(nurseIds, year).stream()
+                .collect(Collectors.toMap(YearlyWorkload::getNurseId, Function.identity()));
+        Map<String, Integer> runs = longestRuns(nurseIds, year);
+        LocalDateTime now = LocalDateTime.now();
+        List<YearlyWorkload> rollups = new ArrayList<>();
+
+        for (Object[] row : workloadDataRepository.sumByNurseForYear(nurseIds, year)) {
+            YearlyWorkload rollup = Optional.ofNullable(existing.remove((String) row[0])).orElseGet(() -> {
+                YearlyWorkload yw = new YearlyWorkload();
+                yw.setNurseId((String) row[0]);
+                yw.setYear(year);
+                return yw;
+            });
+            rollup.setTotalHours(((Number) row[1]).doubleValue());
+            rollup.setShiftsCount(((Number) row[2]).intValue());
+            rollup.setOvertimeHours(((Number) row[3]).doubleValue());
+            rollup.setNightShifts(((Number) row[4]).intValue());
+            rollup.setWeekendShifts(((Number) row[5]).intValue());
+            rollup.setConsecutiveDays(runs.getOrDefault(rollup.getNurseId(), 0));
+            rollup.setUpdatedAt(now);
+            rollups.add(rollup);
+        }
+        yearlyWorkloadRepository.saveAll(rollups);
+        if (!existing.isEmpty()) {
+            // Left over: nurses without a single shift that year any more
+            yearlyWorkloadRepository.deleteAll(existing.values());
+        }
+    }
+
+    /**
+     * Longest run of consecutive days worked per nurse that touches the year, read from the
+     * days themselves since runs cross month boundaries. Like the monthly values, a run is
+     * followed into the first and last ISO week of the neighbouring years.
+     */
+    private Map<String, Integer> longestRuns(Collection<String> nurseIds, int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        LocalDate last = LocalDate.of(year, 12, 31);
+        Map<String, Integer> longest = new HashMap<>();
+        String nurseId = null;
+        LocalDate previous = null;
+        int run = 0;
+        boolean inYear = false;
+        for (Object[] row : shiftRepository.findWorkDaysByNurseIn(nurseIds,
+                WorkloadAggregator.windowStart(YearMonth.from(first)), WorkloadAggregator.windowEnd(YearMonth.from(last)))) {
+            LocalDate day = (LocalDate) row[1];
+            if (!row[0].equals(nurseId) || !day.minusDays(1).equals(previous)) {
+                run = 0;
+                inYear = false;
+            }
+            nurseId = (String) row[0];
+            previous = day;
+            run++;
+            inYear |= day.getYear() == year;
+            if (inYear) {
+                longest.merge(nurseId, run, Math::max);
+            }
+        }
+        return longest;
+    }
+
+    private boolean validMonth(int month, int year) {
+        return month >= 1 && month <= 12 && year >= 2000;
+    }
+
+    private boolean sameSlot(Shift a, Shift b) {
+        return Objects.equals(a.getDate(), b.getDate())
+                && a.getType() == b.getType()
+                && Objects.equals(a.getStartTime(), b.getStartTime())
+                && Objects.equals(a.getEndTime(), b.getEndTime());
+    }
+
+    private Set<String> nurses(Shift shift) {
+        return shift == null || shift.getAssignedNurses() == null
+                ? new HashSet<>() : new HashSet<>(shift.getAssignedNurses());
+    }
+
+    private boolean isWeekend(Shift shift) {
+        return shift.getDate().getDayOfWeek().getValue() >= 6;
+    }
+}
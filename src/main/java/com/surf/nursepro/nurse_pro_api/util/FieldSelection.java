@@ -0,0 +1,107 @@
+package com.surf.nursepro.nurse_pro_api.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Attributes requested through a {@code fields=a,b,c} parameter. Response DTOs use it to skip
+ * loading what was not asked for; {@link #FILTER_ID} drops the same attributes when serializing.
+ */
+public final class FieldSelection {
+    public static final String PARAMETER = "fields";
+    public static final String FILTER_ID = "fieldSelection";
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Returns {@link #ALL} for a missing parameter. {@code id} is always included.
+     */
+    public static FieldSelection parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> selected = names(fields);
+        for (String name : selected) {
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name + ", allowed: " + String.join(",", new TreeSet<>(allowed)));
+            }
+        }
+        return new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    /**
+     * Like {@link #parse} but without validating the names, for code that runs after the service did.
+     */
+    public static FieldSelection unchecked(String fields) {
+        return fields == null || fields.isBlank() ? ALL : new FieldSelection(Collections.unmodifiableSet(names(fields)));
+    }
+
+    private static Set<String> names(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * The selected fields, or null when everything is selected.
+     */
+    public Set<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Jackson filters that write only the selected properties of {@code target}; other types,
+     * such as DTOs nested inside it, are written in full.
+     */
+    public FilterProvider filters(Class<?> target) {
+        SimpleFilterProvider provider = new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+        if (fields != null) {
+            provider.addFilter(FILTER_ID, new SelectedFieldsFilter(target, fields));
+        }
+        return provider;
+    }
+
+    private static final class SelectedFieldsFilter extends SimpleBeanPropertyFilter {
+        private final Class<?> target;
+        private final Set<String> fields;
+
+        private SelectedFieldsFilter(Class<?> target, Set<String> fields) {
+            this.target = target;
+            this.fields = fields;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (pojo.getClass() != target || fields.contains(writer.getName())) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.surf.nursepro.nurse_pro_api.util;
+
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Resolves a shift's wall-clock start and end. Shifts whose end time is not after the
+ * start time (e.g. Night 23:00-07:00) finish on the following day.
+ */
+public final class ShiftTimes {
+    // Also accepts "7:00" and "07:00:00", as clients have always been able to send them
+    private static final DateTimeFormatter INPUT = DateTimeFormatter.ofPattern("H:mm[:ss]").withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter STORED = DateTimeFormatter.ofPattern("HH:mm");
+
+    private ShiftTimes() {
+    }
+
+    /**
+     * Checks the shift's start and end times and stores them as {@code HH:mm}. Missing times are left alone.
+     *
+     * @throws IllegalArgumentException if a time is not a valid time of day
+     */
+    public static void normalize(Shift shift) {
+        if (shift.getStartTime() != null) {
+            shift.setStartTime(parse(shift.getStartTime()).format(STORED));
+        }
+        if (shift.getEndTime() != null) {
+            shift.setEndTime(parse(shift.getEndTime()).format(STORED));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code time} is missing or not a valid time of day
+     */
+    public static LocalTime parse(String time) {
+        if (time == null) {
+            throw new IllegalArgumentException("Missing shift time, expected HH:mm");
+        }
+        try {
+            return LocalTime.parse(time.trim(), INPUT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid shift time '" + time + "', expected HH:mm");
+        }
+    }
+
+    /**
+     * Start of the shift, or null when it has no start time.
+     */
+    public static LocalDateTime start(Shift shift) {
+        if (shift.getStartTime() == null) {
+            return null;
+        }
+        return start(shift.getDate(), shift.getStartTime());
+    }
+
+    /**
+     * End of the shift, or null when it has no start or end time.
+     */
+    public static LocalDateTime end(Shift shift) {
+        if (shift.getStartTime() == null || shift.getEndTime() == null) {
+            return null;
+        }
+        return end(shift.getDate(), shift.getStartTime(), shift.getEndTime());
+    }
+
+    public static LocalDateTime start(LocalDate date, String startTime) {
+        return date.atTime(parse(startTime));
+    }
+
+    public static LocalDateTime end(LocalDate date, String startTime, String endTime) {
+        LocalTime start = parse(startTime);
+        LocalTime end = parse(endTime);
+        return end.isAfter(start) ? date.atTime(end) : date.plusDays(1).atTime(end);
+    }
+
+    /**
+     * Shift length in hours, or 0 when the shift has no start or end time.
+     */
+    public static double hours(Shift shift) {
+        if (shift.getStartTime() == null || shift.getEndTime() == null) {
+            return 0;
+        }
+        return Duration.between(start(shift), end(shift)).toMinutes() / 60.0;
+    }
+}
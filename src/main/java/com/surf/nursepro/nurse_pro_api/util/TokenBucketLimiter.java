@@ -0,0 +1,55 @@
+package com.surf.nursepro.nurse_pro_api.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token buckets striped over a fixed array, one bucket per key hash. Each bucket is a
+ * single long holding the time at which it will be full again, so a check is one read and one
+ * compare-and-set. Keys that share a stripe share a bucket, which can only throttle early.
+ */
+public final class TokenBucketLimiter {
+    private final AtomicLongArray refilledAt;
+    private final int mask;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final long origin = System.nanoTime();
+
+    public TokenBucketLimiter(int capacity, double tokensPerMinute, int stripes) {
+        if (capacity < 1 || tokensPerMinute <= 0 || stripes < 1) {
+            throw new IllegalArgumentException("Invalid token bucket settings");
+        }
+        int size = Integer.highestOneBit(Math.min(stripes, 1 << 20) * 2 - 1);
+        this.refilledAt = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.nanosPerToken = (long) (TimeUnit.MINUTES.toNanos(1) / tokensPerMinute);
+        this.burstNanos = nanosPerToken * capacity;
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key) {
+        int stripe = spread(key.hashCode()) & mask;
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long full = refilledAt.get(stripe);
+            long next = Math.max(full, now) + nanosPerToken;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (refilledAt.compareAndSet(stripe, full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
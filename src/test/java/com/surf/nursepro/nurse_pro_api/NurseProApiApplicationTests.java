@@ -1,13 +1,36 @@
 package com.surf.nursepro.nurse_pro_api;
 
+import com.surf.nursepro.nurse_pro_api.config.JwtUtil;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Boots the shipped configuration (the default {@code prod} profile, including its JWT secret) with only the
+ * database connection pointed at an embedded database.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:prodconfig;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="
+})
 class NurseProApiApplicationTests {
 
+	@Autowired
+	private JwtUtil jwtUtil;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void shortJwtSecretFailsOnUseInsteadOfAtStartup() {
+		// application-prod.yml ships a placeholder secret shorter than 32 characters
+		assertThrows(RuntimeException.class, () -> jwtUtil.generateToken("1", "NURSE", "nurse", "ICU"));
+		assertThrows(IllegalStateException.class, () -> jwtUtil.verify("any.token.value"));
+	}
+
 }
@@ -0,0 +1,146 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleResponse;
+import com.surf.nursepro.nurse_pro_api.dto.ShiftResponse;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleStatus;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the JSON and CBOR encodings of a full-month schedule: payload size and encode/decode time.
+ * Timings are logged and run with {@code mvn test -Pbenchmark}; the normal build only checks that both
+ * CBOR variants round-trip and that stringref tags appear only when enabled.
+ */
+class CborEncodingBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(CborEncodingBenchmarkTest.class);
+
+    private static final int ROUNDS = 2000;
+
+    // Tag 256 opens a stringref namespace: major type 6 with a two-byte argument
+    private static final byte[] STRINGREF_NAMESPACE = {(byte) 0xD9, 0x01, 0x00};
+
+    @Test
+    void stringrefIsOnlyUsedWhenEnabled() throws Exception {
+        Jackson2ObjectMapperBuilder builder = builder();
+        ObjectMapper json = builder.build();
+        ApiResponse<ScheduleResponse> payload = new ApiResponse<>(monthSchedule(40, 31), "Schedule fetched successfully", true);
+        byte[] jsonBytes = json.writeValueAsBytes(payload);
+
+        byte[] plain = JacksonConfig.cborMapper(builder, false).writeValueAsBytes(payload);
+        byte[] referenced = JacksonConfig.cborMapper(builder, true).writeValueAsBytes(payload);
+
+        assertEquals(json.readTree(jsonBytes), JacksonConfig.cborMapper(builder, false).readTree(plain));
+        assertEquals(json.readTree(jsonBytes), JacksonConfig.cborMapper(builder, true).readTree(referenced));
+        assertFalse(startsWith(plain, STRINGREF_NAMESPACE), "Plain CBOR opens a stringref namespace");
+        assertTrue(startsWith(referenced, STRINGREF_NAMESPACE), "Stringref CBOR does not open a namespace");
+        assertTrue(referenced.length < plain.length);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void cborMonthScheduleSizeAndSpeed() throws Exception {
+        Jackson2ObjectMapperBuilder builder = builder();
+        ObjectMapper json = builder.build();
+        ObjectMapper cbor = JacksonConfig.cborMapper(builder, true);
+        ApiResponse<ScheduleResponse> payload = new ApiResponse<>(monthSchedule(40, 31), "Schedule fetched successfully", true);
+
+        byte[] jsonBytes = json.writeValueAsBytes(payload);
+        byte[] cborBytes = cbor.writeValueAsBytes(payload);
+        byte[] plainBytes = JacksonConfig.cborMapper(builder, false).writeValueAsBytes(payload);
+
+        long jsonEncode = time(() -> json.writeValueAsBytes(payload));
+        long cborEncode = time(() -> cbor.writeValueAsBytes(payload));
+        long jsonDecode = time(() -> json.readTree(jsonBytes));
+        long cborDecode = time(() -> cbor.readTree(cborBytes));
+        logger.info("Month schedule: json {} bytes, encode {}us, decode {}us; plain cbor {} bytes ({}%); "
+                        + "stringref cbor {} bytes ({}%), encode {}us, decode {}us",
+                jsonBytes.length, jsonEncode / 1000, jsonDecode / 1000,
+                plainBytes.length, plainBytes.length * 100 / jsonBytes.length,
+                cborBytes.length, cborBytes.length * 100 / jsonBytes.length, cborEncode / 1000, cborDecode / 1000);
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().fieldSelectionFilterDefault().customize(builder);
+        return builder;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        return Arrays.equals(Arrays.copyOf(bytes, prefix.length), prefix);
+    }
+
+    private interface Codec {
+        Object run() throws Exception;
+    }
+
+    // Median nanoseconds per call after a warm-up of the same length
+    private static long time(Codec codec) throws Exception {
+        long[] samples = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            codec.run();
+        }
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            codec.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ROUNDS / 2];
+    }
+
+    private static ScheduleResponse monthSchedule(int nurseCount, int days) {
+        List<String> nurses = new ArrayList<>();
+        for (int i = 0; i < nurseCount; i++) {
+            nurses.add(UUID.randomUUID().toString());
+        }
+        ShiftType[] types = {ShiftType.Day, ShiftType.Evening, ShiftType.Night};
+        String[][] hours = {{"07:00", "15:00"}, {"15:00", "23:00"}, {"23:00", "07:00"}};
+        List<ShiftResponse> shifts = new ArrayList<>();
+        int next = 0;
+        for (int day = 0; day < days; day++) {
+            for (int t = 0; t < types.length; t++) {
+                ShiftResponse shift = new ShiftResponse();
+                shift.setId(UUID.randomUUID().toString());
+                shift.setVersion(1);
+                shift.setDate(LocalDate.of(2025, 3, 1).plusDays(day));
+                shift.setStartTime(hours[t][0]);
+                shift.setEndTime(hours[t][1]);
+                shift.setType(types[t]);
+                shift.setDepartment("General");
+                shift.setRequiredStaff(3);
+                List<String> assigned = new ArrayList<>();
+                for (int n = 0; n < 3; n++) {
+                    assigned.add(nurses.get(next++ % nurseCount));
+                }
+                shift.setAssignedNurses(assigned);
+                shift.setRequirements(List.of("ICU"));
+                shifts.add(shift);
+            }
+        }
+        ScheduleResponse schedule = new ScheduleResponse();
+        schedule.setId(UUID.randomUUID().toString());
+        schedule.setMonth(3);
+        schedule.setYear(2025);
+        schedule.setShifts(shifts);
+        schedule.setGeneratedAt(LocalDateTime.of(2025, 2, 20, 9, 30));
+        schedule.setStatus(ScheduleStatus.Published);
+        return schedule;
+    }
+}
@@ -0,0 +1,165 @@
+package com.surf.nursepro.nurse_pro_api.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Measures what a log call costs the calling thread with the pipeline from
+ * {@code logback-spring.xml}: synchronous output to a slow sink against the async appender in front
+ * of the same sink, a sink that stops accepting events, and disabled DEBUG calls with and without
+ * a guard. The timings are only logged and run with {@code mvn test -Pbenchmark}; the normal build
+ * only checks that callers return while the sink is blocked.
+ */
+class LoggingOverheadBenchmarkTest {
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(LoggingOverheadBenchmarkTest.class);
+
+    private static final int EVENTS = 20_000;
+    // A console redirected to a slow pipe or disk waits about this long per event
+    private static final long SINK_NANOS = 50_000;
+
+    private LoggerContext context;
+    private AsyncAppender async;
+
+    @BeforeEach
+    void configure() throws Exception {
+        context = new LoggerContext();
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(getClass().getResource("/logback-spring.xml"));
+        async = (AsyncAppender) context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC");
+        async.detachAppender("CONSOLE");
+    }
+
+    @AfterEach
+    void stop() {
+        context.stop();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void asyncAppenderKeepsSlowOutputOffTheCallingThread() {
+        SlowAppender syncSink = start(new SlowAppender());
+        Logger sync = context.getLogger("benchmark.sync");
+        sync.setAdditive(false);
+        sync.addAppender(syncSink);
+        async.addAppender(start(new SlowAppender()));
+        Logger queued = context.getLogger("benchmark.async");
+
+        long[] syncNanos = time(sync, Integer.MAX_VALUE);
+        // Batches stay below the discarding threshold, so every timed call really queues its event
+        long[] asyncNanos = time(queued, async.getQueueSize() / 2);
+        logger.info("Log call with a {}us sink: sync median {}ns p99 {}ns; async median {}ns p99 {}ns",
+                SINK_NANOS / 1000, median(syncNanos), p99(syncNanos), median(asyncNanos), p99(asyncNanos));
+    }
+
+    @Test
+    void callersNeverWaitForABlockedSink() {
+        BlockedAppender blocked = start(new BlockedAppender());
+        async.addAppender(blocked);
+        Logger queued = context.getLogger("benchmark.blocked");
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                for (int i = 0; i < async.getQueueSize() * 2; i++) {
+                    queued.warn("Shift {} reassigned from {} to {}", i, "nurse-a", "nurse-b");
+                }
+            });
+        } finally {
+            blocked.release.countDown();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void disabledDebugCalls() {
+        Logger debugOff = context.getLogger("benchmark.debug");
+        long[] unguarded = new long[EVENTS];
+        long[] guarded = new long[EVENTS];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < EVENTS; i++) {
+                long start = System.nanoTime();
+                debugOff.debug("Nurse {} assigned {} rest days after {} {} shifts", "nurse-" + (i & 7), i, i + 1, "night");
+                unguarded[i] = System.nanoTime() - start;
+                start = System.nanoTime();
+                if (debugOff.isDebugEnabled()) {
+                    debugOff.debug("Nurse {} assigned {} rest days after {} {} shifts", "nurse-" + (i & 7), i, i + 1, "night");
+                }
+                guarded[i] = System.nanoTime() - start;
+            }
+        }
+        logger.info("Disabled DEBUG call with four arguments: unguarded median {}ns, guarded median {}ns",
+                median(unguarded), median(guarded));
+    }
+
+    // Nanoseconds per call, after a warm-up of the same length; waits for the queue to drain every batch
+    private long[] time(Logger target, int batch) {
+        long[] samples = new long[EVENTS];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < EVENTS; i++) {
+                if (i % batch == 0) {
+                    while (async.getNumberOfElementsInQueue() > 0) {
+                        LockSupport.parkNanos(1_000_000);
+                    }
+                }
+                long start = System.nanoTime();
+                target.info("GET /api/nurses/{} -> {} in {} ms", i, 200, 3);
+                samples[i] = System.nanoTime() - start;
+            }
+        }
+        return samples;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long p99(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) (sorted.length * 0.99)];
+    }
+
+    private <T extends AppenderBase<ILoggingEvent>> T start(T appender) {
+        appender.setContext(context);
+        appender.start();
+        return appender;
+    }
+
+    private static class SlowAppender extends AppenderBase<ILoggingEvent> {
+        @Override
+        protected void append(ILoggingEvent event) {
+            LockSupport.parkNanos(SINK_NANOS);
+        }
+    }
+
+    private static class BlockedAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.surf.nursepro.nurse_pro_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.support.QueryCountIntegrationTest;
+import com.surf.nursepro.nurse_pro_api.support.TestDataSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class NurseControllerQueryCountTest extends QueryCountIntegrationTest {
+    private static final AtomicInteger NEXT_NURSE = new AtomicInteger(TestDataSeeder.NURSES);
+
+    @Autowired
+    private NurseRepository nurseRepository;
+
+    @Test
+    void listsAllNurses() throws Exception {
+        assertTrue(data(assertStatements(14, get("/api/nurses"))).size() >= TestDataSeeder.NURSES);
+    }
+
+    @Test
+    void listsNurseSummaries() throws Exception {
+        JsonNode nurses = data(assertStatements(2, get("/api/nurses").param("fields", "id,firstName,lastName,department")));
+        assertTrue(nurses.size() >= TestDataSeeder.NURSES);
+        assertFalse(nurses.get(0).has("email"));
+    }
+
+    @Test
+    void filtersNurses() throws Exception {
+        JsonNode nurses = data(assertStatements(5, get("/api/nurses")
+                .param("department", "ICU")
+                .param("experienceLevel", "Senior")));
+        assertFalse(nurses.isEmpty());
+        nurses.forEach(nurse -> {
+            assertEquals("ICU", nurse.get("department").asText());
+            assertEquals("Senior", nurse.get("experienceLevel").asText());
+        });
+    }
+
+    @Test
+    void streamsNurses() throws Exception {
+        assertTrue(data(assertStatements(14, get("/api/nurses").param("stream", "true"))).size() >= TestDataSeeder.NURSES);
+    }
+
+    @Test
+    void getsNurse() throws Exception {
+        assertEquals(data.nurseId(0), data(assertStatements(5, get("/api/nurses/{id}", data.nurseId(0)))).get("id").asText());
+    }
+
+    @Test
+    void createsNurse() throws Exception {
+        Nurse nurse = newNurse();
+        JsonNode created = data(assertStatements(5, post("/api/nurses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(nurse))));
+        assertEquals(nurse.getEmail(), created.get("email").asText());
+        assertFalse(created.get("id").isNull());
+    }
+
+    @Test
+    void updatesNurse() throws Exception {
+        Nurse nurse = nurseRepository.save(newNurse());
+        nurse.setMaxHoursPerWeek(24);
+        JsonNode updated = data(assertStatements(9, put("/api/nurses/{id}", nurse.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(nurse))));
+        assertEquals(24, updated.get("maxHoursPerWeek").asInt());
+    }
+
+    @Test
+    void deletesNurse() throws Exception {
+        Nurse nurse = nurseRepository.save(newNurse());
+        data(assertStatements(6, delete("/api/nurses/{id}", nurse.getId())));
+        assertFalse(nurseRepository.existsById(nurse.getId()));
+    }
+
+    @Test
+    void uploadsNursesInBulk() throws Exception {
+        List<Nurse> nurses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            nurses.add(newNurse());
+        }
+        assertEquals(nurses.size(), data(assertStatements(5, post("/api/nurses/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(nurses)))).size());
+    }
+
+    @Test
+    void getsNurseStatus() throws Exception {
+        JsonNode status = data(assertStatements(1, get("/api/nurses/{id}/status", data.nurseId(1))));
+        assertEquals(data.nurseId(1), status.get("nurseId").asText());
+        assertTrue(status.has("onDuty"));
+    }
+
+    @Test
+    void getsNurseCalendar() throws Exception {
+        String calendar = assertStatements(2, get("/api/nurses/{id}/calendar.ics", data.nurseId(2)))
+                .getResponse().getContentAsString();
+        assertTrue(calendar.startsWith("BEGIN:VCALENDAR"));
+        assertTrue(calendar.stripTrailing().endsWith("END:VCALENDAR"));
+    }
+
+    private static Nurse newNurse() {
+        int index = NEXT_NURSE.getAndIncrement();
+        return TestDataSeeder.nurse(index, new Random(index));
+    }
+}
@@ -0,0 +1,59 @@
+package com.surf.nursepro.nurse_pro_api.controller;
+
+import com.surf.nursepro.nurse_pro_api.config.JwtUtil;
+import com.surf.nursepro.nurse_pro_api.support.QueryCountIntegrationTest;
+import com.surf.nursepro.nurse_pro_api.support.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class PublicEndpointsQueryCountTest extends QueryCountIntegrationTest {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void welcomePageIssuesNoStatements() throws Exception {
+        assertStatements(0, get("/"));
+    }
+
+    @Test
+    void revokesToken() throws Exception {
+        String token = jwtUtil.generateToken(data.nurseId(0), "NURSE", "nurse0", "ICU");
+        assertEquals("Token revoked", json(assertStatements(2, post("/api/auth/revoke")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))).get("message").asText());
+    }
+
+    @Test
+    void protectedEndpointRejectsRequestWithoutBearerToken() throws Exception {
+        MvcResult result = mvc.perform(get("/api/nurses/" + data.nurseId(0))
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz")).andReturn();
+        assertEquals(401, result.getResponse().getStatus());
+    }
+
+    @Test
+    void revokedTokenIsRejectedOnProtectedEndpoint() throws Exception {
+        String token = jwtUtil.generateToken(data.nurseId(1), "USER", "nurse1", "ICU");
+        String status = "/api/nurses/" + data.nurseId(1) + "/status";
+        assertStatements(1, get(status).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        assertStatements(2, post("/api/auth/revoke").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        MvcResult result = mvc.perform(get(status).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andReturn();
+        assertEquals(401, result.getResponse().getStatus());
+        assertEquals("JWT token has been revoked", json(result).get("message").asText());
+    }
+
+    @Test
+    void subscribingToRosterEventsIssuesNoStatements() throws Exception {
+        // The emitter stays open, so only the subscription itself is counted
+        QueryCounter.Counted<MvcResult> counted = queryCounter.count(() -> mvc.perform(get("/api/events/stream")).andReturn());
+        assertTrue(counted.result().getRequest().isAsyncStarted());
+        assertEquals(0, counted.statements());
+    }
+}
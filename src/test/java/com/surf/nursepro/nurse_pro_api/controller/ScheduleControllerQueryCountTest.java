@@ -0,0 +1,273 @@
+package com.surf.nursepro.nurse_pro_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleGenerationParams;
+import com.surf.nursepro.nurse_pro_api.dto.ShiftResponse;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalRequest;
+import com.surf.nursepro.nurse_pro_api.dto.WorkloadRangeRequest;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.service.ScheduleService;
+import com.surf.nursepro.nurse_pro_api.support.QueryCountIntegrationTest;
+import com.surf.nursepro.nurse_pro_api.support.TestDataSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class ScheduleControllerQueryCountTest extends QueryCountIntegrationTest {
+    // Shifts created here go on their own days after the seeded months, so they never collide. June 2 is
+    // a Monday and the weeks up to June 29 lie within June, so no change also refreshes a neighbouring month
+    private static final AtomicInteger NEXT_DAY = new AtomicInteger();
+    private static final AtomicInteger NEXT_NURSE = new AtomicInteger(TestDataSeeder.NURSES + 10_000);
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private NurseRepository nurseRepository;
+
+    @Test
+    void listsSchedules() throws Exception {
+        assertTrue(data(assertStatements(9, get("/api/schedules"))).size() >= TestDataSeeder.MONTHS.size());
+    }
+
+    @Test
+    void streamsSchedules() throws Exception {
+        assertTrue(data(assertStatements(9, get("/api/schedules").param("stream", "true"))).size()
+                >= TestDataSeeder.MONTHS.size());
+    }
+
+    @Test
+    void generatesSchedule() throws Exception {
+        ScheduleGenerationParams params = new ScheduleGenerationParams();
+        params.setMonth(1);
+        params.setYear(TestDataSeeder.YEAR + 1);
+        // A shift created before the schedule already has a workload row for its nurse and month
+        Shift adHoc = newShift(data.nurseId(8));
+        adHoc.setDate(LocalDate.of(TestDataSeeder.YEAR + 1, 1, 14));
+        scheduleService.createShift(adHoc);
+
+        JsonNode schedule = data(assertStatements(31, post("/api/schedules/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(params))));
+        assertEquals(1, schedule.get("month").asInt());
+        assertEquals(TestDataSeeder.YEAR + 1, schedule.get("year").asInt());
+        assertFalse(schedule.get("shifts").isEmpty());
+
+        long generated = 0;
+        for (JsonNode shift : schedule.get("shifts")) {
+            generated += nurses(shift).contains(data.nurseId(8)) ? 1 : 0;
+        }
+        JsonNode workload = data(mvc.perform(get("/api/schedules/workload")
+                .param("nurseId", data.nurseId(8))
+                .param("month", "1")
+                .param("year", String.valueOf(TestDataSeeder.YEAR + 1))).andReturn());
+        assertEquals(generated + 1, workload.get(0).get("shiftsCount").asLong());
+    }
+
+    @Test
+    void createsShift() throws Exception {
+        JsonNode shift = data(assertStatements(17, post("/api/schedules/shifts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(newShift(data.nurseId(3))))));
+        assertEquals(List.of(data.nurseId(3)), nurses(shift));
+    }
+
+    @Test
+    void updatesShift() throws Exception {
+        ShiftResponse created = scheduleService.createShift(newShift(data.nurseId(4))).getData();
+        Shift shift = newShift(data.nurseId(5));
+        shift.setDate(created.getDate());
+        JsonNode updated = data(assertStatements(29, put("/api/schedules/shifts/{shiftId}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(shift))));
+        assertEquals(List.of(data.nurseId(5)), nurses(updated));
+        assertEquals(created.getVersion() + 1, updated.get("version").asLong());
+    }
+
+    @Test
+    void deletesShift() throws Exception {
+        ShiftResponse created = scheduleService.createShift(newShift(data.nurseId(6))).getData();
+        data(assertStatements(21, delete("/api/schedules/shifts/{shiftId}", created.getId())));
+    }
+
+    @Test
+    void pagesScheduleConflicts() throws Exception {
+        JsonNode page = data(assertStatements(5, get("/api/schedules/{scheduleId}/conflicts", data.schedule(0).getId())));
+        assertTrue(page.get("items").isArray());
+        assertTrue(page.has("counts"));
+    }
+
+    @Test
+    void getsShiftConflicts() throws Exception {
+        assertTrue(data(assertStatements(3, get("/api/schedules/shifts/{shiftId}/conflicts", data.staffedShift(0).getId())))
+                .isArray());
+    }
+
+    @Test
+    void pagesSwapRequests() throws Exception {
+        JsonNode page = data(assertStatements(2, get("/api/schedules/swap-requests").param("status", "Pending")));
+        assertFalse(page.get("items").isEmpty());
+        page.get("items").forEach(request -> assertEquals("Pending", request.get("status").asText()));
+    }
+
+    @Test
+    void createsSwapRequest() throws Exception {
+        ShiftResponse shift = data.staffedShift(1);
+        SwapRequest request = new SwapRequest();
+        request.setShiftId(shift.getId());
+        request.setRequesterId(shift.getAssignedNurses().get(0));
+        request.setReason("Family event");
+        JsonNode created = data(assertStatements(3, post("/api/schedules/swap-requests")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(request))));
+        assertEquals("Pending", created.get("status").asText());
+        assertEquals(shift.getId(), created.get("shiftId").asText());
+    }
+
+    @Test
+    void autoMatchesSwapRequests() throws Exception {
+        assertTrue(data(assertStatements(18, post("/api/schedules/swap-requests/auto-match"))).isArray());
+    }
+
+    @Test
+    void approvesSwapRequest() throws Exception {
+        JsonNode approved = data(assertStatements(31, put("/api/schedules/swap-requests/{requestId}/approve",
+                newSwapRequest().getId())));
+        assertEquals("Approved", approved.get("status").asText());
+    }
+
+    @Test
+    void approvesSwapRequestsInBatch() throws Exception {
+        SwapApprovalRequest approval = new SwapApprovalRequest();
+        List<String> requestIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requestIds.add(newSwapRequest().getId());
+        }
+        approval.setRequestIds(requestIds);
+        // Each swap re-evaluates workload and conflicts of both nurses; the batch is capped server-side
+        JsonNode result = data(assertStatements(29L * requestIds.size() + 5, post("/api/schedules/swap-requests/approve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(approval))));
+        assertEquals(requestIds.size(), result.get("approved").size());
+        assertTrue(result.get("failures").isEmpty());
+    }
+
+    @Test
+    void rejectsSwapRequest() throws Exception {
+        assertEquals("Rejected", data(assertStatements(5, put("/api/schedules/swap-requests/{requestId}/reject",
+                newSwapRequest().getId()))).get("status").asText());
+    }
+
+    @Test
+    void getsNurseWorkload() throws Exception {
+        JsonNode workload = data(assertStatements(1, get("/api/schedules/workload")
+                .param("nurseId", data.nurseId(7))
+                .param("month", String.valueOf(TestDataSeeder.MONTHS.get(0)))
+                .param("year", String.valueOf(TestDataSeeder.YEAR))));
+        workload.forEach(row -> assertEquals(data.nurseId(7), row.get("nurseId").asText()));
+    }
+
+    @Test
+    void queriesDepartmentWorkload() throws Exception {
+        WorkloadRangeRequest request = new WorkloadRangeRequest();
+        request.setDepartment("ICU");
+        request.setFromMonth(TestDataSeeder.MONTHS.get(0));
+        request.setFromYear(TestDataSeeder.YEAR);
+        request.setToMonth(TestDataSeeder.MONTHS.get(1));
+        request.setToYear(TestDataSeeder.YEAR);
+        JsonNode workload = data(assertStatements(3, post("/api/schedules/workload/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(request))));
+        assertFalse(workload.get("monthly").isEmpty());
+        assertFalse(workload.get("yearly").isEmpty());
+    }
+
+    @Test
+    void exportsPdf() throws Exception {
+        assertTrue(assertStatements(5, export("pdf")).getResponse().getContentAsString().startsWith("%PDF"));
+    }
+
+    @Test
+    void exportsExcel() throws Exception {
+        // An xlsx workbook is a zip archive
+        assertTrue(assertStatements(5, export("excel")).getResponse().getContentAsString().startsWith("PK"));
+    }
+
+    @Test
+    void exportsCsv() throws Exception {
+        List<String> lines = assertStatements(1, export("csv")).getResponse().getContentAsString().lines().toList();
+        assertTrue(lines.get(0).endsWith("date,shift_type,start_time,end_time,department,nurse_id,nurse_name"));
+        assertTrue(lines.size() > 1);
+    }
+
+    @Test
+    void exportsNdjson() throws Exception {
+        String ndjson = assertStatements(1, export("ndjson")).getResponse().getContentAsString();
+        List<String> lines = ndjson.lines().toList();
+        assertFalse(lines.isEmpty());
+        assertFalse(objectMapper.readTree(lines.get(0)).get("nurseName").asText().isBlank());
+    }
+
+    private MockHttpServletRequestBuilder export(String format) {
+        return get("/api/schedules/export")
+                .param("months", TestDataSeeder.MONTHS.stream().map(String::valueOf).toArray(String[]::new))
+                .param("year", String.valueOf(TestDataSeeder.YEAR))
+                .param("format", format);
+    }
+
+    private static List<String> nurses(JsonNode shift) {
+        List<String> nurses = new ArrayList<>();
+        shift.get("assignedNurses").forEach(nurse -> nurses.add(nurse.asText()));
+        return nurses;
+    }
+
+    private static Shift newShift(String nurseId) {
+        Shift shift = new Shift();
+        shift.setDate(LocalDate.of(TestDataSeeder.YEAR, 6, 2).plusDays(NEXT_DAY.getAndIncrement()));
+        shift.setStartTime("07:00");
+        shift.setEndTime("15:00");
+        shift.setType(ShiftType.Day);
+        shift.setDepartment("ICU");
+        shift.setRequiredStaff(1);
+        shift.setAssignedNurses(new ArrayList<>(List.of(nurseId)));
+        shift.setRequirements(new ArrayList<>());
+        return shift;
+    }
+
+    /** A pending request between two nurses with nothing else on the roster that day, so it can be approved. */
+    private SwapRequest newSwapRequest() {
+        int index = NEXT_NURSE.getAndIncrement();
+        Nurse requester = TestDataSeeder.nurse(index, new Random(index));
+        requester.setUnavailableDates(new ArrayList<>());
+        Nurse target = TestDataSeeder.nurse(index + 1_000, new Random(index));
+        target.setUnavailableDates(new ArrayList<>());
+        nurseRepository.saveAll(List.of(requester, target));
+
+        ShiftResponse shift = scheduleService.createShift(newShift(requester.getId())).getData();
+        SwapRequest request = new SwapRequest();
+        request.setShiftId(shift.getId());
+        request.setRequesterId(requester.getId());
+        request.setTargetId(target.getId());
+        request.setReason("Swap");
+        return scheduleService.createSwapRequest(request).getData();
+    }
+}
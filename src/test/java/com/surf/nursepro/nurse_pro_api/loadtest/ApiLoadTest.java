@@ -0,0 +1,386 @@
+package com.surf.nursepro.nurse_pro_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surf.nursepro.nurse_pro_api.config.JwtUtil;
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleGenerationParams;
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleResponse;
+import com.surf.nursepro.nurse_pro_api.dto.ShiftResponse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.support.TestDataSeeder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: starts the application on the embedded H2 database (MySQL mode), seeds
+ * it with thousands of nurses and years of generated schedules, and drives it over HTTP with a
+ * fixed mix of reads, shift edits, swap requests, exports and schedule generation. Throughput and
+ * latency percentiles are reported per endpoint and written to {@code target/loadtest/}.
+ * <p>
+ * Tagged {@code loadtest} and excluded from the normal build, run it with
+ * {@code mvn test -Ploadtest}. Sizes and duration come from {@code application-loadtest.yml} and
+ * can be overridden with system properties, e.g. {@code -Dloadtest.clients=64}. Seeds, client
+ * random generators and the mix are fixed, so runs of different commits do the same work.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+@Import(TestDataSeeder.class)
+class ApiLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(ApiLoadTest.class);
+    private static final Path RESULTS = Path.of("target", "loadtest");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestDataSeeder data;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${loadtest.nurses}")
+    private int nurses;
+
+    @Value("${loadtest.first-month}")
+    private String firstMonth;
+
+    @Value("${loadtest.months}")
+    private int months;
+
+    @Value("${loadtest.swap-requests}")
+    private int swapRequests;
+
+    @Value("${loadtest.clients}")
+    private int clients;
+
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.seconds}")
+    private int seconds;
+
+    @Value("${loadtest.label:}")
+    private String label;
+
+    @Value("${loadtest.baseline:}")
+    private String baseline;
+
+    private HttpClient http;
+    private String bearerToken;
+    private List<YearMonth> seededMonths;
+    // Generated during the run, after anything seeded
+    private final AtomicInteger generatedMonths = new AtomicInteger();
+
+    @Test
+    void mixedTraffic() throws Exception {
+        seededMonths = new ArrayList<>();
+        for (int i = 0; i < months; i++) {
+            seededMonths.add(YearMonth.parse(firstMonth).plusMonths(i));
+        }
+        long started = System.nanoTime();
+        data.seed(nurses, seededMonths, swapRequests);
+        System.out.printf("Seeded %d nurses and %d months in %.1fs%n", data.nurseCount(), data.scheduleCount(),
+                (System.nanoTime() - started) / 1e9);
+
+        bearerToken = "Bearer " + jwtUtil.generateToken("loadtest", "ADMIN", "loadtest", "");
+        http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        if (warmupSeconds > 0) {
+            run(warmupSeconds);
+        }
+        Map<String, EndpointStats> results = run(seconds);
+
+        String runLabel = label.isBlank() ? commit() : label;
+        Path file = write(runLabel, results);
+        print(System.out, runLabel, results, baseline.isBlank() ? Map.of() : read(Path.of(baseline)));
+        System.out.println("Results written to " + file);
+
+        long requests = results.values().stream().mapToLong(EndpointStats::requests).sum();
+        long errors = results.values().stream().mapToLong(EndpointStats::errors).sum();
+        assertTrue(errors <= requests / 100, () -> errors + " of " + requests + " requests failed");
+    }
+
+    private Map<String, EndpointStats> run(int durationSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<Map<String, EndpointStats>> perClient = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            Client client = new Client(c);
+            perClient.add(client.stats);
+            pool.execute(() -> client.run(deadline));
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(durationSeconds + 120L, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+
+        Map<String, EndpointStats> merged = new TreeMap<>();
+        for (Map<String, EndpointStats> stats : perClient) {
+            stats.forEach((endpoint, endpointStats) ->
+                    merged.computeIfAbsent(endpoint, key -> new EndpointStats()).merge(endpointStats));
+        }
+        return merged;
+    }
+
+    private record Call(String endpoint, HttpRequest request) {
+    }
+
+    /**
+     * One closed-loop client: sends the next request as soon as the previous one returned. Shift
+     * edits go to a shift of its own and it only rejects its own swap requests, so clients do not
+     * fail each other's optimistic locks.
+     */
+    private class Client {
+        private final Random random;
+        private final Map<String, EndpointStats> stats = new HashMap<>();
+        private final LocalDate shiftDate;
+        private final Deque<String> pendingSwaps = new ArrayDeque<>();
+        private String shiftId;
+
+        Client(int id) {
+            this.random = new Random(id);
+            this.shiftDate = seededMonths.get(seededMonths.size() - 1).plusMonths(1).atDay(1).plusDays(id);
+        }
+
+        void run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                Call call = next();
+                long start = System.nanoTime();
+                int status = 0;
+                byte[] body = null;
+                try {
+                    HttpResponse<byte[]> response = http.send(call.request(), HttpResponse.BodyHandlers.ofByteArray());
+                    status = response.statusCode();
+                    body = response.body();
+                } catch (IOException e) {
+                    logger.debug("{} failed", call.endpoint(), e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                stats.computeIfAbsent(call.endpoint(), key -> new EndpointStats()).record(System.nanoTime() - start, status);
+                if (status >= 200 && status < 300) {
+                    remember(call, body);
+                }
+            }
+        }
+
+        // Weights are percentages of all calls
+        private Call next() {
+            int roll = random.nextInt(100);
+            if (roll < 10) {
+                return get("GET /api/nurses?fields", "/api/nurses?fields=firstName,lastName,department,experienceLevel");
+            } else if (roll < 25) {
+                return get("GET /api/nurses/{id}", "/api/nurses/" + nurseId());
+            } else if (roll < 35) {
+                return get("GET /api/nurses/{id}/status", "/api/nurses/" + nurseId() + "/status");
+            } else if (roll < 40) {
+                return get("GET /api/nurses/{id}/calendar.ics", "/api/nurses/" + nurseId() + "/calendar.ics");
+            } else if (roll < 45) {
+                return get("GET /api/schedules?fields", "/api/schedules?fields=month,year,status");
+            } else if (roll < 51) {
+                return get("GET /api/schedules/{id}/conflicts", "/api/schedules/" + schedule().getId() + "/conflicts");
+            } else if (roll < 59) {
+                return get("GET /api/schedules/swap-requests", "/api/schedules/swap-requests?status=Pending");
+            } else if (roll < 69) {
+                YearMonth month = seededMonth();
+                return get("GET /api/schedules/workload", "/api/schedules/workload?nurseId=" + nurseId()
+                        + "&month=" + month.getMonthValue() + "&year=" + month.getYear());
+            } else if (roll < 79) {
+                return shiftId == null
+                        ? send("POST /api/schedules/shifts", "POST", "/api/schedules/shifts", shift())
+                        : send("PUT /api/schedules/shifts/{id}", "PUT", "/api/schedules/shifts/" + shiftId, shift());
+            } else if (roll < 92) {
+                // Rejections only ever follow this client's own requests
+                return pendingSwaps.isEmpty() || roll < 87
+                        ? send("POST /api/schedules/swap-requests", "POST", "/api/schedules/swap-requests", swapRequest())
+                        : send("PUT /api/schedules/swap-requests/{id}/reject", "PUT",
+                        "/api/schedules/swap-requests/" + pendingSwaps.poll() + "/reject", null);
+            } else if (roll < 96) {
+                return get("GET /api/schedules/export?format=csv", export("csv"));
+            } else if (roll < 99) {
+                return get("GET /api/schedules/export?format=pdf", export("pdf"));
+            }
+            YearMonth month = YearMonth.of(2100, 1).plusMonths(generatedMonths.getAndIncrement());
+            ScheduleGenerationParams params = new ScheduleGenerationParams();
+            params.setMonth(month.getMonthValue());
+            params.setYear(month.getYear());
+            return send("POST /api/schedules/generate", "POST", "/api/schedules/generate", params);
+        }
+
+        private void remember(Call call, byte[] body) {
+            try {
+                if (call.endpoint().equals("POST /api/schedules/shifts")) {
+                    shiftId = objectMapper.readTree(body).path("data").path("id").asText();
+                } else if (call.endpoint().equals("POST /api/schedules/swap-requests")) {
+                    JsonNode created = objectMapper.readTree(body).path("data");
+                    pendingSwaps.add(created.path("id").asText());
+                }
+            } catch (IOException e) {
+                logger.warn("Unreadable response from {}", call.endpoint(), e);
+            }
+        }
+
+        private Shift shift() {
+            Shift shift = new Shift();
+            shift.setDate(shiftDate);
+            shift.setStartTime("07:00");
+            shift.setEndTime("15:00");
+            shift.setType(ShiftType.Day);
+            shift.setDepartment("ICU");
+            shift.setRequiredStaff(2);
+            shift.setAssignedNurses(List.of(nurseId(), nurseId()));
+            shift.setRequirements(List.of());
+            return shift;
+        }
+
+        private SwapRequest swapRequest() {
+            List<ShiftResponse> shifts = schedule().getShifts();
+            ShiftResponse shift = shifts.get(random.nextInt(shifts.size()));
+            SwapRequest request = new SwapRequest();
+            request.setShiftId(shift.getId());
+            request.setRequesterId(shift.getAssignedNurses().isEmpty() ? nurseId() : shift.getAssignedNurses().get(0));
+            request.setReason("Load test");
+            return request;
+        }
+
+        private String export(String format) {
+            YearMonth month = seededMonth();
+            return "/api/schedules/export?months=" + month.getMonthValue() + "&year=" + month.getYear() + "&format=" + format;
+        }
+
+        private String nurseId() {
+            return data.nurseId(random.nextInt(data.nurseCount()));
+        }
+
+        private ScheduleResponse schedule() {
+            return data.schedule(random.nextInt(data.scheduleCount()));
+        }
+
+        private YearMonth seededMonth() {
+            return seededMonths.get(random.nextInt(seededMonths.size()));
+        }
+
+        private Call get(String endpoint, String path) {
+            return new Call(endpoint, request(path).GET().build());
+        }
+
+        private Call send(String endpoint, String method, String path, Object body) {
+            try {
+                HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+                return new Call(endpoint, request(path).header("Content-Type", "application/json")
+                        .method(method, publisher).build());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to serialize " + body, e);
+            }
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Authorization", bearerToken)
+                    .timeout(Duration.ofSeconds(60));
+        }
+    }
+
+    private Path write(String runLabel, Map<String, EndpointStats> results) throws IOException {
+        Files.createDirectories(RESULTS);
+        Path file = RESULTS.resolve("api-" + runLabel + ".csv");
+        List<String> lines = new ArrayList<>();
+        lines.add("label,endpoint,requests,rejected,errors,throughput,p50_ms,p90_ms,p99_ms,max_ms");
+        results.forEach((endpoint, stats) -> lines.add(String.format(Locale.ROOT,
+                "%s,%s,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f", runLabel, endpoint, stats.requests(), stats.rejected(), stats.errors(),
+                stats.requests() / (double) seconds, stats.percentile(0.50), stats.percentile(0.90),
+                stats.percentile(0.99), stats.percentile(1.0))));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    // Endpoint to {throughput, p99} of an earlier run
+    private static Map<String, double[]> read(Path file) throws IOException {
+        Map<String, double[]> rows = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            rows.put(columns[1], new double[]{Double.parseDouble(columns[5]), Double.parseDouble(columns[8])});
+        }
+        return rows;
+    }
+
+    private void print(PrintStream out, String runLabel, Map<String, EndpointStats> results, Map<String, double[]> baseline) {
+        out.printf("%nLoad test %s: %d clients, %ds, %d nurses, %d months%n", runLabel, clients, seconds,
+                data.nurseCount(), months);
+        out.printf("%-45s %8s %8s %6s %8s %8s %8s %8s %8s%s%n", "endpoint", "requests", "rejected", "errors", "req/s", "p50", "p90",
+                "p99", "max", baseline.isEmpty() ? "" : "   vs baseline (req/s, p99)");
+        results.forEach((endpoint, stats) -> {
+            double throughput = stats.requests() / (double) seconds;
+            double p99 = stats.percentile(0.99);
+            double[] before = baseline.get(endpoint);
+            out.printf("%-45s %8d %8d %6d %8.1f %8.1f %8.1f %8.1f %8.1f%s%n", endpoint, stats.requests(), stats.rejected(), stats.errors(),
+                    throughput, stats.percentile(0.50), stats.percentile(0.90), p99, stats.percentile(1.0),
+                    before == null ? "" : String.format("   %+6.1f%% %+6.1f%%", change(before[0], throughput), change(before[1], p99)));
+        });
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static String commit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String hash = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 && !hash.isEmpty() ? hash : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.surf.nursepro.nurse_pro_api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies, shed requests and errors of one endpoint. Each client thread fills its own instance; they are
+ * merged once the run is over, so recording needs no synchronization.
+ */
+class EndpointStats {
+    private long[] latencies = new long[256];
+    private int count;
+    private long rejected;
+    private long errors;
+
+    /** {@code status} 0 stands for a request that got no response at all. */
+    void record(long nanos, int status) {
+        if (status == 429 || status == 503) {
+            // Shed by the rate limiter or a bulkhead, which is how overload should look
+            rejected++;
+            return;
+        }
+        if (status == 0 || status >= 400) {
+            errors++;
+            return;
+        }
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        rejected += other.rejected;
+        errors += other.errors;
+    }
+
+    long requests() {
+        return count + rejected + errors;
+    }
+
+    long rejected() {
+        return rejected;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /** Latency in milliseconds at {@code p} (0..1) of the successful requests. */
+    double percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.event.ShiftChangedEvent;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedServiceTest {
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private NurseRepository nurseRepository;
+
+    @InjectMocks
+    private CalendarFeedService calendarFeedService;
+
+    private final Shift shift = shift();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(calendarFeedService, "cacheSize", 2);
+        ReflectionTestUtils.setField(calendarFeedService, "cacheTtlMinutes", 60L);
+        when(nurseRepository.existsById(anyString())).thenReturn(true);
+        when(shiftRepository.findByAssignedNurse(anyString())).thenReturn(List.of(shift));
+    }
+
+    @Test
+    void unchangedShiftsKeepTheirEtagAcrossRebuilds() {
+        CalendarFeedService.CalendarFeed first = calendarFeedService.getFeed("nurse-1");
+        assertSame(first, calendarFeedService.getFeed("nurse-1"));
+
+        calendarFeedService.onShiftChanged(new ShiftChangedEvent("shift-1", ShiftChangedEvent.Action.UPDATED, Set.of("nurse-1")));
+        CalendarFeedService.CalendarFeed rebuilt = calendarFeedService.getFeed("nurse-1");
+
+        assertEquals(first.etag(), rebuilt.etag());
+        assertTrue(rebuilt.body().contains("DTSTAMP:20250301T080000Z"), rebuilt.body());
+        verify(shiftRepository, times(2)).findByAssignedNurse("nurse-1");
+    }
+
+    @Test
+    void changedShiftGetsANewEtag() {
+        String before = calendarFeedService.getFeed("nurse-1").etag();
+
+        shift.setUpdatedAt(LocalDateTime.of(2025, 3, 2, 9, 0));
+        calendarFeedService.onShiftChanged(new ShiftChangedEvent("shift-1", ShiftChangedEvent.Action.UPDATED, Set.of("nurse-1")));
+
+        assertNotEquals(before, calendarFeedService.getFeed("nurse-1").etag());
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentlyUsedFeeds() {
+        calendarFeedService.getFeed("nurse-1");
+        calendarFeedService.getFeed("nurse-2");
+        calendarFeedService.getFeed("nurse-1");
+        calendarFeedService.getFeed("nurse-3");
+
+        // nurse-2 was the least recently used when nurse-3 was added
+        calendarFeedService.getFeed("nurse-1");
+        calendarFeedService.getFeed("nurse-2");
+        verify(shiftRepository, times(1)).findByAssignedNurse("nurse-1");
+        verify(shiftRepository, times(2)).findByAssignedNurse("nurse-2");
+    }
+
+    @Test
+    void expiresFeedsAfterTheirTimeToLive() {
+        ReflectionTestUtils.setField(calendarFeedService, "cacheTtlMinutes", 0L);
+        calendarFeedService.getFeed("nurse-1");
+        calendarFeedService.getFeed("nurse-1");
+        verify(shiftRepository, times(2)).findByAssignedNurse("nurse-1");
+    }
+
+    @Test
+    void shiftWithoutTimesIsAnAllDayEvent() {
+        shift.setStartTime(null);
+        shift.setEndTime(null);
+        shift.setUpdatedAt(null);
+
+        String body = calendarFeedService.getFeed("nurse-1").body();
+
+        assertTrue(body.contains("DTSTART;VALUE=DATE:20250310\r\nDTEND;VALUE=DATE:20250311\r\n"), body);
+        assertTrue(body.contains("END:VCALENDAR"), body);
+    }
+
+    private static Shift shift() {
+        Shift shift = new Shift();
+        shift.setId("shift-1");
+        shift.setDate(LocalDate.of(2025, 3, 10));
+        shift.setStartTime("07:00");
+        shift.setEndTime("15:00");
+        shift.setType(ShiftType.Day);
+        shift.setDepartment("ICU");
+        shift.setUpdatedAt(LocalDateTime.of(2025, 3, 1, 8, 0));
+        return shift;
+    }
+}
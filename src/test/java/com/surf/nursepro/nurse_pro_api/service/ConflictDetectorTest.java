@@ -0,0 +1,105 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictSeverity;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictType;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflictDetectorTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 2);
+
+    @Test
+    void shiftWithoutNursesIsCriticallyUnderstaffed() {
+        List<ScheduleConflict> conflicts = detect(List.of(), shift("s1", "07:00", "15:00", 2));
+
+        assertEquals(1, conflicts.size());
+        assertEquals(ScheduleConflictType.understaffed, conflicts.get(0).getType());
+        assertEquals(ScheduleConflictSeverity.critical, conflicts.get(0).getSeverity());
+    }
+
+    @Test
+    void shiftOneNurseShortIsUnderstaffedHigh() {
+        List<ScheduleConflict> conflicts = detect(List.of("n1"), shift("s1", "07:00", "15:00", 2, "n1"));
+
+        assertEquals(1, conflicts.size());
+        assertEquals(ScheduleConflictSeverity.high, conflicts.get(0).getSeverity());
+        assertEquals("ICU Day shift needs 1 more nurse(s)", conflicts.get(0).getMessage());
+    }
+
+    @Test
+    void fullyStaffedShiftHasNoConflicts() {
+        assertTrue(detect(List.of("n1", "n2"), shift("s1", "07:00", "15:00", 2, "n1", "n2")).isEmpty());
+    }
+
+    @Test
+    void overstaffedOnlyAboveTheShiftMaximum() {
+        // Up to MAX_NURSES_PER_SHIFT is allowed even when fewer are required
+        assertTrue(detect(List.of("n1", "n2", "n3"), shift("s1", "07:00", "15:00", 2, "n1", "n2", "n3")).isEmpty());
+
+        List<ScheduleConflict> conflicts = detect(List.of("n1", "n2", "n3", "n4"),
+                shift("s1", "07:00", "15:00", 2, "n1", "n2", "n3", "n4"));
+        assertEquals(1, conflicts.size());
+        assertEquals(ScheduleConflictType.overstaffed, conflicts.get(0).getType());
+        assertEquals(ScheduleConflictSeverity.low, conflicts.get(0).getSeverity());
+    }
+
+    @Test
+    void overlappingShiftsAreAnAvailabilityConflictOnTheLaterShift() {
+        List<ScheduleConflict> conflicts = detect(List.of("n1"),
+                shift("s2", "11:00", "19:00", 1, "n1"),
+                shift("s1", "07:00", "15:00", 1, "n1"));
+
+        assertEquals(1, conflicts.size());
+        ScheduleConflict conflict = conflicts.get(0);
+        assertEquals(ScheduleConflictType.availability, conflict.getType());
+        assertEquals(ScheduleConflictSeverity.high, conflict.getSeverity());
+        assertEquals("s2", conflict.getShiftId());
+        assertEquals("n1", conflict.getNurseId());
+        assertEquals("Nurse is already working an overlapping shift", conflict.getMessage());
+    }
+
+    @Test
+    void backToBackShiftsDoNotOverlapButLackRest() {
+        List<ScheduleConflict> conflicts = detect(List.of("n1"),
+                shift("s1", "07:00", "15:00", 1, "n1"),
+                shift("s2", "15:00", "23:00", 1, "n1"));
+
+        assertEquals(1, conflicts.size());
+        assertEquals(ScheduleConflictType.overtime, conflicts.get(0).getType());
+        assertEquals(ScheduleConflictSeverity.medium, conflicts.get(0).getSeverity());
+    }
+
+    private static List<ScheduleConflict> detect(List<String> nurseIds, Shift... shifts) {
+        List<Nurse> nurses = new ArrayList<>();
+        for (String id : nurseIds) {
+            Nurse nurse = new Nurse();
+            nurse.setId(id);
+            nurse.setMaxHoursPerWeek(40);
+            nurses.add(nurse);
+        }
+        return new ConflictDetector(nurses, DAY, DAY.plusDays(6)).detect(List.of(shifts));
+    }
+
+    private static Shift shift(String id, String start, String end, int requiredStaff, String... nurses) {
+        Shift shift = new Shift();
+        shift.setId(id);
+        shift.setDate(DAY);
+        shift.setStartTime(start);
+        shift.setEndTime(end);
+        shift.setType(ShiftType.Day);
+        shift.setDepartment("ICU");
+        shift.setRequiredStaff(requiredStaff);
+        shift.setAssignedNurses(List.of(nurses));
+        return shift;
+    }
+}
@@ -0,0 +1,124 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.dto.KeysetPage;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.ScheduleConflict;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.enums.ScheduleConflictType;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ScheduleConflictRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ScheduleRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConflictServiceTest {
+    private static final String SCHEDULE = "schedule-1";
+
+    @Mock
+    private ScheduleConflictRepository conflictRepository;
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private NurseRepository nurseRepository;
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ConflictService conflictService;
+
+    @Test
+    void firstPageCarriesTheTotals() {
+        when(scheduleRepository.existsById(SCHEDULE)).thenReturn(true);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"high", "understaffed", 2L});
+        when(conflictRepository.countBySeverityAndType(SCHEDULE)).thenReturn(rows);
+
+        KeysetPage<ScheduleConflict> page = conflictService.getScheduleConflicts(SCHEDULE, null, null, null, null).getData();
+
+        assertEquals(2L, page.getCounts().get("severity").get("high"));
+        assertEquals(2L, page.getCounts().get("type").get("understaffed"));
+    }
+
+    @Test
+    void laterPagesSkipTheTotals() {
+        when(scheduleRepository.existsById(SCHEDULE)).thenReturn(true);
+        String cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 1, 7, 0), "conflict-9").encode();
+
+        KeysetPage<ScheduleConflict> page = conflictService.getScheduleConflicts(SCHEDULE, null, null, cursor, null).getData();
+
+        assertNull(page.getCounts());
+        verify(conflictRepository, never()).countBySeverityAndType(any());
+    }
+
+    @Test
+    void conflictOfAStandaloneShiftGetsTheScheduleOfItsMonth() {
+        Nurse nurse = new Nurse();
+        nurse.setId("nurse-1");
+        Shift shift = new Shift();
+        shift.setId("shift-1");
+        shift.setDate(LocalDate.of(2025, 6, 10));
+        shift.setStartTime("07:00");
+        shift.setEndTime("15:00");
+        shift.setType(ShiftType.Day);
+        shift.setDepartment("ICU");
+        shift.setRequiredStaff(2);
+        shift.setAssignedNurses(List.of("nurse-1"));
+        when(nurseRepository.findAllById(any())).thenReturn(List.of(nurse));
+        when(shiftRepository.findByAssignedNurseInAndDateBetween(any(), any(), any())).thenReturn(List.of(shift));
+        when(scheduleRepository.findIdsByMonthAndYear(6, 2025)).thenReturn(List.of(SCHEDULE));
+
+        conflictService.reevaluate(null, shift);
+
+        ScheduleConflict conflict = saved().get(0);
+        assertEquals(ScheduleConflictType.understaffed, conflict.getType());
+        assertEquals(SCHEDULE, conflict.getScheduleId());
+    }
+
+    @Test
+    void backfillAttachesOrphanedConflictsToTheScheduleOfTheirMonth() {
+        List<Object[]> periods = new ArrayList<>();
+        periods.add(new Object[]{SCHEDULE, 2, 2024});
+        when(scheduleRepository.findPeriods()).thenReturn(periods);
+
+        conflictService.backfillScheduleIds();
+
+        verify(conflictRepository).assignSchedule(eq(SCHEDULE), eq(LocalDate.of(2024, 2, 1)), eq(LocalDate.of(2024, 2, 29)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ScheduleConflict> saved() {
+        ArgumentCaptor<List<ScheduleConflict>> captor = ArgumentCaptor.forClass(List.class);
+        verify(conflictRepository).saveAll(captor.capture());
+        assertNotNull(captor.getValue());
+        return captor.getValue();
+    }
+}
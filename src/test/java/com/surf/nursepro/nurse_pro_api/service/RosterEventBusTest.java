@@ -0,0 +1,153 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RosterEventBusTest {
+    private static final int SENDER_THREADS = 2;
+
+    private final List<StalledEmitter> stalled = new ArrayList<>();
+    private RosterEventBus bus;
+
+    @AfterEach
+    void stop() {
+        stalled.forEach(emitter -> emitter.release.countDown());
+        bus.shutdown();
+    }
+
+    @Test
+    void stalledClientsDoNotDelayOthers() throws Exception {
+        bus = new RosterEventBus(16, 60_000, 3600, SENDER_THREADS * 4, 60_000, 4, 100);
+        for (int i = 0; i < SENDER_THREADS * 2; i++) {
+            bus.subscribe(stalled());
+        }
+        RecordingEmitter healthy = new RecordingEmitter();
+        bus.subscribe(healthy);
+
+        bus.publish("shift.updated", "shift-1");
+
+        assertNotNull(healthy.sent.poll(5, TimeUnit.SECONDS), "connected event");
+        assertNotNull(healthy.sent.poll(5, TimeUnit.SECONDS), "shift.updated event");
+    }
+
+    @Test
+    void clientStuckInAWriteIsDroppedAfterTheWriteTimeout() throws Exception {
+        bus = new RosterEventBus(16, 60_000, 3600, SENDER_THREADS, 100, 4, 100);
+        StalledEmitter emitter = stalled();
+        bus.subscribe(emitter);
+        bus.subscribe(new RecordingEmitter());
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+
+        awaitTrue(() -> bus.subscriberCount() == 1, "stalled subscriber dropped");
+        assertFalse(emitter.completed);
+
+        // Completed by its sender once the write returns, never by the thread that dropped it
+        emitter.release.countDown();
+        awaitTrue(() -> emitter.completed, "stalled emitter completed");
+    }
+
+    @Test
+    void publishingToAFullBufferDropsTheClientWithoutBlocking() throws Exception {
+        bus = new RosterEventBus(4, 60_000, 3600, SENDER_THREADS, 60_000, 4, 100);
+        StalledEmitter emitter = stalled();
+        bus.subscribe(emitter);
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            bus.publish("shift.updated", "shift-" + i);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(0, bus.subscriberCount());
+        assertTrue(millis < 1000, "Publishing took " + millis + "ms");
+    }
+
+    @Test
+    void stalledClientsBeyondTheSenderThreadsAndQueueAreDropped() throws Exception {
+        bus = new RosterEventBus(16, 60_000, 3600, SENDER_THREADS, 60_000, 1, 100);
+        for (int i = 0; i < SENDER_THREADS; i++) {
+            StalledEmitter emitter = stalled();
+            bus.subscribe(emitter);
+            assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        }
+        // Waits in the queue for a thread
+        bus.subscribe(stalled());
+        assertEquals(SENDER_THREADS + 1, bus.subscriberCount());
+
+        StalledEmitter rejected = stalled();
+        bus.subscribe(rejected);
+
+        assertEquals(SENDER_THREADS + 1, bus.subscriberCount());
+        assertTrue(rejected.completed);
+    }
+
+    @Test
+    void subscriptionsBeyondTheLimitAreRejected() {
+        bus = new RosterEventBus(16, 60_000, 3600, SENDER_THREADS, 60_000, 4, 2);
+        assertTrue(bus.subscribe(new RecordingEmitter()).isPresent());
+        assertTrue(bus.subscribe(new RecordingEmitter()).isPresent());
+
+        assertTrue(bus.subscribe(new RecordingEmitter()).isEmpty());
+        assertEquals(2, bus.subscriberCount());
+    }
+
+    private StalledEmitter stalled() {
+        StalledEmitter emitter = new StalledEmitter();
+        stalled.add(emitter);
+        return emitter;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + what);
+            Thread.sleep(10);
+        }
+    }
+
+    /** A client whose socket accepts nothing: every write blocks until released. */
+    private static class StalledEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.dto.ApiResponse;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalRequest;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalResult;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleServiceSwapApprovalTest {
+
+    @Mock
+    private SwapApprovalService swapApprovalService;
+
+    @InjectMocks
+    private ScheduleService scheduleService;
+
+    @Test
+    void failedRequestsAreReportedAndTheRestApply() {
+        when(swapApprovalService.approve("a")).thenReturn(List.of(request("a")));
+        when(swapApprovalService.approve("b")).thenThrow(new IllegalArgumentException("Requester is no longer assigned to the shift"));
+        when(swapApprovalService.approve("c")).thenReturn(List.of(request("c")));
+        when(swapApprovalService.approve("missing")).thenThrow(new IllegalArgumentException("Swap request not found"));
+
+        SwapApprovalResult result = approve("a", "b", "c", "missing").getData();
+
+        assertEquals(List.of("a", "c"), ids(result));
+        assertEquals("Requester is no longer assigned to the shift", result.getFailures().get("b"));
+        assertEquals("Swap request not found", result.getFailures().get("missing"));
+        assertEquals(2, result.getFailures().size());
+    }
+
+    @Test
+    void mirrorRequestInTheSameBatchIsApprovedOnce() {
+        when(swapApprovalService.approve("a")).thenReturn(List.of(request("a"), request("mirror")));
+
+        SwapApprovalResult result = approve("a", "mirror", "a").getData();
+
+        assertEquals(List.of("a", "mirror"), ids(result));
+        assertTrue(result.getFailures().isEmpty());
+        verify(swapApprovalService, never()).approve("mirror");
+    }
+
+    @Test
+    void staleShiftVersionFailsOnlyItsOwnRequest() {
+        when(swapApprovalService.approve("stale")).thenThrow(new ObjectOptimisticLockingFailureException(Shift.class, "shift-1"));
+        when(swapApprovalService.approve("b")).thenReturn(List.of(request("b")));
+
+        SwapApprovalResult result = approve("stale", "b").getData();
+
+        assertEquals(List.of("b"), ids(result));
+        assertEquals("A shift was modified by another request, reload and try again", result.getFailures().get("stale"));
+    }
+
+    private ApiResponse<SwapApprovalResult> approve(String... requestIds) {
+        SwapApprovalRequest approval = new SwapApprovalRequest();
+        approval.setRequestIds(Arrays.asList(requestIds));
+        return scheduleService.approveSwapRequests(approval);
+    }
+
+    private static SwapRequest request(String id) {
+        SwapRequest request = new SwapRequest();
+        request.setId(id);
+        return request;
+    }
+
+    private static List<String> ids(SwapApprovalResult result) {
+        return result.getApproved().stream().map(SwapRequest::getId).toList();
+    }
+}
@@ -0,0 +1,120 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalRequest;
+import com.surf.nursepro.nurse_pro_api.dto.SwapApprovalResult;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.SwapRequestRepository;
+import com.surf.nursepro.nurse_pro_api.support.TestDataSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Runs a batch approval against the embedded database while another transaction edits the first
+ * swap's shift between its checks and its flush. Uses its own database, since the spy gives it its
+ * own application context.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:swapapproval;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY")
+@ActiveProfiles("test")
+class SwapApprovalConcurrencyTest {
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private NurseRepository nurseRepository;
+
+    @Autowired
+    private SwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private WorkloadService workloadService;
+
+    @Test
+    void concurrentShiftEditFailsOnlyThatApproval() {
+        List<SwapRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(newSwapRequest(i));
+        }
+        String staleShiftId = requests.get(0).getShiftId();
+
+        TransactionTemplate otherRequest = new TransactionTemplate(transactionManager);
+        otherRequest.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                otherRequest.executeWithoutResult(status ->
+                        jdbcTemplate.update("update shifts set version = version + 1 where id = ?", staleShiftId));
+            }
+            return invocation.callRealMethod();
+        }).when((WorkloadService) AopTestUtils.getUltimateTargetObject(workloadService)).applyShiftChange(any(), any());
+
+        SwapApprovalRequest approval = new SwapApprovalRequest();
+        approval.setRequestIds(requests.stream().map(SwapRequest::getId).toList());
+        SwapApprovalResult result = scheduleService.approveSwapRequests(approval).getData();
+
+        assertEquals(List.of(requests.get(1).getId(), requests.get(2).getId()),
+                result.getApproved().stream().map(SwapRequest::getId).toList());
+        assertEquals(List.of(requests.get(0).getId()), List.copyOf(result.getFailures().keySet()));
+        assertEquals(SwapRequestStatus.Pending, swapRequestRepository.findById(requests.get(0).getId()).orElseThrow().getStatus());
+        assertEquals(List.of(requests.get(0).getRequesterId()), assignedNurses(staleShiftId));
+        assertEquals(List.of(requests.get(1).getTargetId()), assignedNurses(requests.get(1).getShiftId()));
+    }
+
+    private List<String> assignedNurses(String shiftId) {
+        return jdbcTemplate.queryForList("select assigned_nurses from shift_assigned_nurses where shift_id = ?",
+                String.class, shiftId);
+    }
+
+    private SwapRequest newSwapRequest(int index) {
+        Nurse requester = TestDataSeeder.nurse(index, new Random(index));
+        requester.setUnavailableDates(new ArrayList<>());
+        Nurse target = TestDataSeeder.nurse(index + 100, new Random(index));
+        target.setUnavailableDates(new ArrayList<>());
+        nurseRepository.saveAll(List.of(requester, target));
+
+        Shift shift = new Shift();
+        shift.setDate(LocalDate.of(TestDataSeeder.YEAR, 7, 1 + index));
+        shift.setStartTime("07:00");
+        shift.setEndTime("15:00");
+        shift.setType(ShiftType.Day);
+        shift.setDepartment("ICU");
+        shift.setRequiredStaff(1);
+        shift.setAssignedNurses(new ArrayList<>(List.of(requester.getId())));
+        shift.setRequirements(new ArrayList<>());
+        SwapRequest request = new SwapRequest();
+        request.setShiftId(scheduleService.createShift(shift).getData().getId());
+        request.setRequesterId(requester.getId());
+        request.setTargetId(target.getId());
+        request.setReason("Swap");
+        return scheduleService.createSwapRequest(request).getData();
+    }
+}
@@ -0,0 +1,88 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.enums.SwapRequestStatus;
+import com.surf.nursepro.nurse_pro_api.repository.SwapRequestCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the counter statements against the embedded database, on a database of its own so the
+ * statement counts of the other tests are not affected.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:swapinbox;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE,KEY")
+@ActiveProfiles("test")
+class SwapInboxServiceTest {
+
+    @Autowired
+    private SwapInboxService swapInboxService;
+
+    @Autowired
+    private SwapRequestCounterRepository counterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearCounters() {
+        jdbcTemplate.update("delete from swap_request_count_stripes");
+    }
+
+    @Test
+    void seedingTwiceKeepsTheFirstCount() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("insert into swap_request_count_stripes (status, stripe, request_count) values ('Pending', 0, 3)");
+        tx.executeWithoutResult(status -> counterRepository.seed(SwapRequestStatus.Pending.name()));
+
+        assertEquals(3L, totals().get(SwapRequestStatus.Pending.name()));
+    }
+
+    @Test
+    void changesSpreadOverStripesAndAddUp() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < 40; i++) {
+            tx.executeWithoutResult(status -> swapInboxService.recordStatusChange(null, SwapRequestStatus.Pending));
+        }
+        for (int i = 0; i < 15; i++) {
+            tx.executeWithoutResult(status -> swapInboxService.recordStatusChange(SwapRequestStatus.Pending, SwapRequestStatus.Approved));
+        }
+
+        assertEquals(25L, totals().get(SwapRequestStatus.Pending.name()));
+        assertEquals(15L, totals().get(SwapRequestStatus.Approved.name()));
+        Integer stripes = jdbcTemplate.queryForObject(
+                "select count(*) from swap_request_count_stripes where status = 'Pending'", Integer.class);
+        assertTrue(stripes > 1, "Pending changes landed on " + stripes + " stripe(s)");
+    }
+
+    @Test
+    void seedingSubtractsChangesCountedBeforeIt() {
+        // Another instance recorded two new requests before this one seeded; the table has none
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> counterRepository.increment(SwapRequestStatus.Pending.name(), 3, 2));
+
+        swapInboxService.initializeCounters();
+        swapInboxService.initializeCounters();
+
+        Long pending = totals().get(SwapRequestStatus.Pending.name());
+        Long inTable = jdbcTemplate.queryForObject(
+                "select count(*) from swap_requests where status = 'Pending'", Long.class);
+        assertEquals(inTable, pending);
+    }
+
+    private Map<String, Long> totals() {
+        return swapInboxService.getInbox(null, null, null, null, null, null, null).getData().getCounts().get("status");
+    }
+}
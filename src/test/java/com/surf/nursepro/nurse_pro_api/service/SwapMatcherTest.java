@@ -0,0 +1,128 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwapMatcherTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 2);
+
+    @Test
+    void reciprocalRequestsArePairedWithEachOther() {
+        Shift a = shift("s-a", DAY, "n1");
+        Shift b = shift("s-b", DAY.plusDays(2), "n2");
+        SwapMatcher matcher = new SwapMatcher(List.of(nurse("n1", "ICU"), nurse("n2", "ICU"), nurse("n3", "ICU")),
+                List.of(a, b));
+
+        List<SwapMatcher.Match> matches = matcher.match(List.of(request("r1", "n1", a), request("r2", "n2", b)));
+
+        assertEquals(2, matches.size());
+        assertEquals("n2", matches.get(0).targetId());
+        assertEquals("s-b", matches.get(0).targetShiftId());
+        assertEquals("n1", matches.get(1).targetId());
+        assertEquals("s-a", matches.get(1).targetShiftId());
+    }
+
+    @Test
+    void exchangePreferredOverPlainCover() {
+        Shift own = shift("s-own", DAY, "n1");
+        Shift theirs = shift("s-theirs", DAY.plusDays(1), "n2");
+        SwapMatcher matcher = new SwapMatcher(List.of(nurse("n1", "ICU"), nurse("n2", "ICU")), List.of(own, theirs));
+
+        List<SwapMatcher.Match> matches = matcher.match(List.of(request("r1", "n1", own)));
+
+        assertEquals(1, matches.size());
+        assertEquals("n2", matches.get(0).targetId());
+        assertEquals("s-theirs", matches.get(0).targetShiftId());
+    }
+
+    @Test
+    void colleaguesOfOtherDepartmentsAreNotProposed() {
+        Shift own = shift("s-own", DAY, "n1");
+        SwapMatcher matcher = new SwapMatcher(List.of(nurse("n1", "ICU"), nurse("n2", "ER")), List.of(own));
+
+        assertTrue(matcher.match(List.of(request("r1", "n1", own))).isEmpty());
+    }
+
+    @Test
+    void requestForAShiftTheRequesterIsNotOnIsSkipped() {
+        Shift other = shift("s-other", DAY, "n3");
+        SwapMatcher matcher = new SwapMatcher(List.of(nurse("n1", "ICU"), nurse("n2", "ICU"), nurse("n3", "ICU")),
+                List.of(other));
+
+        assertTrue(matcher.match(List.of(request("r1", "n1", other))).isEmpty());
+    }
+
+    @Test
+    void shiftIsOfferedOnlyOncePerBatch() {
+        Shift own = shift("s-own", DAY, "n1");
+        SwapMatcher matcher = new SwapMatcher(List.of(nurse("n1", "ICU"), nurse("n2", "ICU")), List.of(own));
+
+        List<SwapMatcher.Match> matches = matcher.match(List.of(request("r1", "n1", own), request("r2", "n1", own)));
+
+        assertEquals(1, matches.size());
+        assertNull(matches.get(0).targetShiftId());
+    }
+
+    @Test
+    void violationsExplainWhyANurseCannotTakeAShift() {
+        Shift own = shift("s-own", DAY, "n1");
+        own.setRequirements(List.of("Pediatrics"));
+        Shift late = shift("s-late", DAY.minusDays(1), "n3");
+        late.setStartTime("19:00");
+        late.setEndTime("03:00");
+        Nurse away = nurse("n2", "ICU");
+        away.setSpecializations(List.of("pediatrics"));
+        away.setUnavailableDates(List.of(DAY));
+        Nurse skilled = nurse("n3", "ICU");
+        skilled.setSpecializations(List.of(" PEDIATRICS "));
+        SwapMatcher matcher = new SwapMatcher(List.of(nurse("n1", "ICU"), away, skilled, nurse("n4", "ICU")),
+                List.of(own, late));
+
+        assertEquals("Nurse is already assigned to the shift", matcher.violation("n1", own, null));
+        assertEquals("Nurse is unavailable on " + DAY, matcher.violation("n2", own, null));
+        assertEquals("Nurse lacks the qualifications the shift requires", matcher.violation("n4", own, null));
+        // Ends at 03:00, four hours before the 07:00 start
+        assertEquals("Nurse would get less than 8 hours of rest around the shift", matcher.violation("n3", own, null));
+        assertNull(matcher.violation("n3", own, late));
+    }
+
+    private static Nurse nurse(String id, String department) {
+        Nurse nurse = new Nurse();
+        nurse.setId(id);
+        nurse.setDepartment(department);
+        return nurse;
+    }
+
+    private static Shift shift(String id, LocalDate date, String nurseId) {
+        Shift shift = new Shift();
+        shift.setId(id);
+        shift.setDate(date);
+        shift.setStartTime("07:00");
+        shift.setEndTime("15:00");
+        shift.setType(ShiftType.Day);
+        shift.setDepartment("ICU");
+        shift.setRequiredStaff(1);
+        shift.setAssignedNurses(List.of(nurseId));
+        return shift;
+    }
+
+    private static SwapRequest request(String id, String requesterId, Shift shift) {
+        SwapRequest request = new SwapRequest();
+        request.setId(id);
+        request.setRequesterId(requesterId);
+        request.setShiftId(shift.getId());
+        request.setCreatedAt(LocalDateTime.of(2025, 5, 20, 9, 0));
+        return request;
+    }
+}
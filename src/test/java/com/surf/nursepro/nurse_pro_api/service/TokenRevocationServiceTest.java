@@ -0,0 +1,92 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.config.JwtUtil;
+import com.surf.nursepro.nurse_pro_api.config.VerifiedToken;
+import com.surf.nursepro.nurse_pro_api.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void create() {
+        service = new TokenRevocationService(revokedTokenRepository, jwtUtil, 1000, 0.001, 3600, 600);
+    }
+
+    @AfterEach
+    void stop() {
+        service.stop();
+    }
+
+    @Test
+    void lookupsBeforeStartFindNothing() {
+        assertFalse(service.isRevoked("token-1"));
+        verify(revokedTokenRepository, never()).existsById(any());
+    }
+
+    @Test
+    void onlyPossibleMatchesAreLookedUp() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of("token-1"));
+        when(revokedTokenRepository.existsById("token-1")).thenReturn(true);
+        service.start();
+
+        assertTrue(service.isRevoked("token-1"));
+        assertFalse(service.isRevoked("token-2"));
+        verify(revokedTokenRepository, never()).existsById("token-2");
+    }
+
+    @Test
+    void revocationDuringARebuildIsInTheNewFilter() throws Exception {
+        CountDownLatch snapshotTaken = new CountDownLatch(1);
+        CountDownLatch finishSnapshot = new CountDownLatch(1);
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenAnswer(invocation -> {
+            snapshotTaken.countDown();
+            finishSnapshot.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(jwtUtil.verify("jwt")).thenReturn(new VerifiedToken("token-1", "user-1", "nurse", "nurse1", "ICU",
+                "access", Instant.now().plusSeconds(600)));
+        when(revokedTokenRepository.existsById("token-1")).thenReturn(true);
+
+        Thread rebuild = new Thread(service::start);
+        rebuild.start();
+        assertTrue(snapshotTaken.await(5, TimeUnit.SECONDS));
+        // Saved but not yet committed when the snapshot was read
+        Thread revoke = new Thread(() -> service.revoke("jwt"));
+        revoke.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (revoke.isAlive() && revoke.getState() != Thread.State.BLOCKED && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        finishSnapshot.countDown();
+        rebuild.join(5000);
+        revoke.join(5000);
+
+        assertTrue(service.isRevoked("token-1"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.WorkloadData;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadAggregatorTest {
+    private static final String NURSE = "nurse-1";
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+    private static final YearMonth APRIL = YearMonth.of(2026, 4);
+    private static final YearMonth MAY = YearMonth.of(2026, 5);
+
+    @Test
+    void windowCoversTheWholeFirstAndLastWeek() {
+        // April 2026 runs from a Wednesday to a Thursday
+        assertEquals(LocalDate.of(2026, 3, 30), WorkloadAggregator.windowStart(APRIL));
+        assertEquals(LocalDate.of(2026, 5, 3), WorkloadAggregator.windowEnd(APRIL));
+        // June 2026 starts on a Monday and ends on a Tuesday
+        assertEquals(LocalDate.of(2026, 6, 1), WorkloadAggregator.windowStart(YearMonth.of(2026, 6)));
+        assertEquals(LocalDate.of(2026, 7, 5), WorkloadAggregator.windowEnd(YearMonth.of(2026, 6)));
+    }
+
+    @Test
+    void countsOvertimeAndRunsWithinTheMonth() {
+        List<Shift> shifts = new ArrayList<>();
+        for (int day = 6; day <= 9; day++) {
+            shifts.add(twelveHours(LocalDate.of(2026, 4, day)));
+        }
+        shifts.add(twelveHours(LocalDate.of(2026, 4, 15)));
+
+        WorkloadData april = aggregate(APRIL, 40, shifts);
+
+        assertEquals(5, april.getShiftsCount());
+        assertEquals(60, april.getTotalHours());
+        assertEquals(8, april.getOvertimeHours());
+        assertEquals(4, april.getConsecutiveDays());
+    }
+
+    @Test
+    void weekCrossingIntoTheMonthCountsTheEarlierDaysTowardsTheLimit() {
+        // Monday 30 and Tuesday 31 March fill 24 of the 40 hours of the week April starts in
+        List<Shift> shifts = List.of(
+                twelveHours(LocalDate.of(2026, 3, 30)),
+                twelveHours(LocalDate.of(2026, 3, 31)),
+                twelveHours(LocalDate.of(2026, 4, 1)),
+                twelveHours(LocalDate.of(2026, 4, 2)));
+
+        WorkloadData march = aggregate(MARCH, 40, shifts);
+        WorkloadData april = aggregate(APRIL, 40, shifts);
+
+        assertEquals(2, march.getShiftsCount());
+        assertEquals(0, march.getOvertimeHours());
+        assertEquals(2, april.getShiftsCount());
+        assertEquals(24, april.getTotalHours());
+        assertEquals(8, april.getOvertimeHours());
+    }
+
+    @Test
+    void weekCrossingOutOfTheMonthSplitsOvertimeWhereItIsWorked() {
+        // Monday 27 to Thursday 30 April already go 8 hours over; Friday 1 May adds 12 more
+        List<Shift> shifts = new ArrayList<>();
+        for (int day = 27; day <= 30; day++) {
+            shifts.add(twelveHours(LocalDate.of(2026, 4, day)));
+        }
+        shifts.add(twelveHours(LocalDate.of(2026, 5, 1)));
+
+        assertEquals(8, aggregate(APRIL, 40, shifts).getOvertimeHours());
+        assertEquals(12, aggregate(MAY, 40, shifts).getOvertimeHours());
+    }
+
+    @Test
+    void runCrossingTheMonthBoundaryCountsInFullForBothMonths() {
+        List<Shift> shifts = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(2026, 3, 30); !day.isAfter(LocalDate.of(2026, 4, 3)); day = day.plusDays(1)) {
+            shifts.add(twelveHours(day));
+        }
+
+        assertEquals(5, aggregate(MARCH, 0, shifts).getConsecutiveDays());
+        assertEquals(5, aggregate(APRIL, 0, shifts).getConsecutiveDays());
+    }
+
+    @Test
+    void runEntirelyInTheNeighbouringMonthIsIgnored() {
+        List<Shift> shifts = List.of(
+                twelveHours(LocalDate.of(2026, 3, 30)),
+                twelveHours(LocalDate.of(2026, 3, 31)),
+                twelveHours(LocalDate.of(2026, 4, 2)));
+
+        assertEquals(1, aggregate(APRIL, 0, shifts).getConsecutiveDays());
+    }
+
+    @Test
+    void nurseWithOnlyNeighbouringShiftsHasNoEntry() {
+        WorkloadAggregator aggregator = new WorkloadAggregator(List.of(nurse(40)), APRIL);
+        aggregator.accept(twelveHours(LocalDate.of(2026, 3, 31)));
+
+        assertTrue(aggregator.finish().isEmpty());
+    }
+
+    private static WorkloadData aggregate(YearMonth period, int maxHoursPerWeek, List<Shift> shifts) {
+        WorkloadAggregator aggregator = new WorkloadAggregator(List.of(nurse(maxHoursPerWeek)), period);
+        shifts.stream()
+                .filter(shift -> !shift.getDate().isBefore(WorkloadAggregator.windowStart(period))
+                        && !shift.getDate().isAfter(WorkloadAggregator.windowEnd(period)))
+                .forEach(aggregator::accept);
+        List<WorkloadData> result = aggregator.finish();
+        assertEquals(1, result.size());
+        assertEquals(period.getMonthValue(), result.get(0).getMonth());
+        return result.get(0);
+    }
+
+    private static Nurse nurse(int maxHoursPerWeek) {
+        Nurse nurse = new Nurse();
+        nurse.setId(NURSE);
+        nurse.setMaxHoursPerWeek(maxHoursPerWeek);
+        return nurse;
+    }
+
+    private static Shift twelveHours(LocalDate date) {
+        Shift shift = new Shift();
+        shift.setDate(date);
+        shift.setStartTime("07:00");
+        shift.setEndTime("19:00");
+        shift.setType(ShiftType.Day);
+        shift.setAssignedNurses(List.of(NURSE));
+        return shift;
+    }
+}
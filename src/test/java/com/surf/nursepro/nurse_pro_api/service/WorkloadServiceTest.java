@@ -0,0 +1,172 @@
+package com.surf.nursepro.nurse_pro_api.service;
+
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.Schedule;
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import com.surf.nursepro.nurse_pro_api.entity.WorkloadData;
+import com.surf.nursepro.nurse_pro_api.entity.YearlyWorkload;
+import com.surf.nursepro.nurse_pro_api.enums.ShiftType;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.repository.ShiftRepository;
+import com.surf.nursepro.nurse_pro_api.repository.WorkloadDataRepository;
+import com.surf.nursepro.nurse_pro_api.repository.YearlyWorkloadRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadServiceTest {
+    private static final String NURSE = "nurse-1";
+
+    @Mock
+    private WorkloadDataRepository workloadDataRepository;
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private NurseRepository nurseRepository;
+
+    @Mock
+    private YearlyWorkloadRepository yearlyWorkloadRepository;
+
+    @InjectMocks
+    private WorkloadService workloadService;
+
+    @Test
+    void yearlyConsecutiveDaysFollowRunsAcrossMonths() {
+        // Monthly rows cap the run at 2 days in March and 3 in April; the days show one run of 5
+        List<Object[]> days = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(2026, 3, 30); !day.isAfter(LocalDate.of(2026, 4, 3)); day = day.plusDays(1)) {
+            days.add(new Object[]{NURSE, day});
+        }
+        days.add(new Object[]{NURSE, LocalDate.of(2026, 4, 10)});
+        when(shiftRepository.findWorkDaysByNurseIn(any(), eq(LocalDate.of(2025, 12, 29)), eq(LocalDate.of(2027, 1, 3))))
+                .thenReturn(days);
+        List<Object[]> sums = new ArrayList<>();
+        sums.add(new Object[]{NURSE, 72.0, 6L, 0.0, 0L, 0L});
+        when(workloadDataRepository.sumByNurseForYear(any(), eq(2026))).thenReturn(sums);
+
+        workloadService.applyShiftChange(null, shift(LocalDate.of(2026, 4, 10)));
+
+        YearlyWorkload rollup = savedRollups().get(0);
+        assertEquals(5, rollup.getConsecutiveDays());
+        assertEquals(6, rollup.getShiftsCount());
+    }
+
+    @Test
+    void yearlyRunsStartingInThePreviousYearCountInFull() {
+        List<Object[]> days = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(2025, 12, 29); !day.isAfter(LocalDate.of(2026, 1, 2)); day = day.plusDays(1)) {
+            days.add(new Object[]{NURSE, day});
+        }
+        // Another nurse's run right after must not extend the first one
+        days.add(new Object[]{"nurse-2", LocalDate.of(2026, 1, 3)});
+        days.add(new Object[]{"nurse-2", LocalDate.of(2026, 1, 10)});
+        when(shiftRepository.findWorkDaysByNurseIn(any(), any(), any())).thenReturn(days);
+        List<Object[]> sums = new ArrayList<>();
+        sums.add(new Object[]{NURSE, 24.0, 2L, 0.0, 0L, 0L});
+        sums.add(new Object[]{"nurse-2", 12.0, 1L, 0.0, 0L, 0L});
+        when(workloadDataRepository.sumByNurseForYear(any(), eq(2026))).thenReturn(sums);
+
+        Shift shift = shift(LocalDate.of(2026, 1, 10));
+        shift.setAssignedNurses(List.of(NURSE, "nurse-2"));
+        workloadService.applyShiftChange(null, shift);
+
+        List<YearlyWorkload> rollups = savedRollups();
+        assertEquals(5, rollups.get(0).getConsecutiveDays());
+        assertEquals(1, rollups.get(1).getConsecutiveDays());
+    }
+
+    @Test
+    void firstAssignmentUpsertsTheMonthlyRow() {
+        workloadService.applyShiftChange(null, shift(LocalDate.of(2026, 4, 15)));
+
+        verify(workloadDataRepository).upsertDelta(anyString(), eq(NURSE), eq(4), eq(2026), eq(1), eq(12.0),
+                eq(0), eq(0), any());
+        verify(workloadDataRepository, never()).save(any());
+    }
+
+    @Test
+    void removingTheLastShiftDropsTheMonthlyAndYearlyRows() {
+        YearlyWorkload yearly = new YearlyWorkload();
+        yearly.setNurseId(NURSE);
+        yearly.setYear(2026);
+        when(yearlyWorkloadRepository.findByNurseIdInAndYear(any(), eq(2026))).thenReturn(List.of(yearly));
+
+        workloadService.applyShiftChange(shift(LocalDate.of(2026, 4, 15)), null);
+
+        verify(workloadDataRepository).applyDelta(eq(NURSE), eq(4), eq(2026), eq(-1), eq(-12.0), eq(0), eq(0), any());
+        verify(workloadDataRepository).deleteIfEmpty(NURSE, 4, 2026);
+        verify(yearlyWorkloadRepository).deleteAll(argThat(rows -> rows.iterator().next() == yearly));
+    }
+
+    @Test
+    void rebuildOverwritesRowsOfShiftsCreatedBeforeTheSchedule() {
+        // An earlier ad-hoc shift already upserted the row; the rebuild counts it with the generated one
+        WorkloadData row = new WorkloadData();
+        row.setNurseId(NURSE);
+        row.setMonth(6);
+        row.setYear(2026);
+        row.setShiftsCount(1);
+        row.setTotalHours(12);
+        when(workloadDataRepository.findByMonthAndYear(6, 2026)).thenReturn(List.of(row));
+        Shift adHoc = shift(LocalDate.of(2026, 6, 10));
+        Shift untimed = shift(LocalDate.of(2026, 6, 10));
+        untimed.setStartTime(null);
+        untimed.setEndTime(null);
+        Shift generated = shift(LocalDate.of(2026, 6, 11));
+        when(shiftRepository.findByDateBetween(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 7, 5)))
+                .thenReturn(new ArrayList<>(List.of(untimed, generated, adHoc)));
+        Schedule schedule = new Schedule();
+        schedule.setMonth(6);
+        schedule.setYear(2026);
+
+        workloadService.rebuildForSchedule(schedule, List.of(nurse()));
+
+        assertEquals(3, row.getShiftsCount());
+        assertEquals(24, row.getTotalHours());
+        verify(workloadDataRepository).saveAll(argThat(rows -> !rows.iterator().hasNext()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<YearlyWorkload> savedRollups() {
+        ArgumentCaptor<List<YearlyWorkload>> saved = ArgumentCaptor.forClass(List.class);
+        verify(yearlyWorkloadRepository).saveAll(saved.capture());
+        return saved.getValue();
+    }
+
+    private static Nurse nurse() {
+        Nurse nurse = new Nurse();
+        nurse.setId(NURSE);
+        nurse.setMaxHoursPerWeek(40);
+        return nurse;
+    }
+
+    private static Shift shift(LocalDate date) {
+        Shift shift = new Shift();
+        shift.setId("shift-1");
+        shift.setDate(date);
+        shift.setStartTime("07:00");
+        shift.setEndTime("19:00");
+        shift.setType(ShiftType.Day);
+        shift.setAssignedNurses(List.of(NURSE));
+        return shift;
+    }
+}
@@ -0,0 +1,112 @@
+package com.surf.nursepro.nurse_pro_api.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surf.nursepro.nurse_pro_api.config.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Base class for endpoint tests that put an upper bound on the SQL statements a request may
+ * issue against the seeded embedded database. A bound that is exceeded fails the build, so an
+ * N+1 query is caught before it reaches production. Bounds are set a little above what each
+ * endpoint issues today; raise one only together with the change that needs it.
+ * <p>
+ * Every request carries an admin bearer token unless it sets its own {@code Authorization} header.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({TestDataSeeder.class, QueryCountIntegrationTest.BearerToken.class})
+public abstract class QueryCountIntegrationTest {
+    private static final String TEST_USER = "query-count-test";
+
+    @Autowired
+    protected MockMvc mvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected TestDataSeeder data;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected QueryCounter queryCounter;
+
+    @BeforeEach
+    void seedDatabase() {
+        data.seed();
+        queryCounter = new QueryCounter(entityManagerFactory);
+    }
+
+    /**
+     * Performs the request, including the async dispatch of streamed bodies, and asserts a
+     * successful status and at most {@code maxStatements} SQL statements.
+     */
+    protected MvcResult assertStatements(long maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+        QueryCounter.Counted<MvcResult> counted = queryCounter.count(() -> {
+            MvcResult result = mvc.perform(request).andReturn();
+            if (result.getRequest().isAsyncStarted()) {
+                result = mvc.perform(asyncDispatch(result)).andReturn();
+            }
+            return result;
+        });
+        MvcResult result = counted.result();
+        String call = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        int status = result.getResponse().getStatus();
+        assertTrue(status >= 200 && status < 300,
+                () -> call + " returned " + status + ": " + body(result));
+        assertTrue(counted.statements() <= maxStatements,
+                () -> call + " issued " + counted.statements() + " SQL statements, at most " + maxStatements + " allowed");
+        return result;
+    }
+
+    protected JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    /**
+     * The {@code data} of a JSON response, asserting that it reports success.
+     */
+    protected JsonNode data(MvcResult result) throws Exception {
+        JsonNode body = json(result);
+        assertTrue(body.path("success").asBoolean(), () -> "Unsuccessful response: " + body);
+        return body.get("data");
+    }
+
+    private static String body(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return "<unreadable body>";
+        }
+    }
+
+    @TestConfiguration
+    static class BearerToken {
+
+        @Bean
+        MockMvcBuilderCustomizer bearerToken(JwtUtil jwtUtil) {
+            String token = jwtUtil.generateToken(TEST_USER, "ADMIN", TEST_USER, "");
+            return builder -> builder.defaultRequest(get("/").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.surf.nursepro.nurse_pro_api.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a piece of work runs. Uses the session
+ * factory statistics rather than a per-thread count, so statements issued by streamed response
+ * bodies on other threads are included. Needs {@code hibernate.generate_statistics}, see
+ * {@code application-test.yml}.
+ */
+public class QueryCounter {
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Hibernate statistics are disabled, set hibernate.generate_statistics");
+        }
+    }
+
+    public <T> Counted<T> count(Work<T> work) throws Exception {
+        statistics.clear();
+        T result = work.run();
+        return new Counted<>(result, statistics.getPrepareStatementCount());
+    }
+
+    public record Counted<T>(T result, long statements) {
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws Exception;
+    }
+}
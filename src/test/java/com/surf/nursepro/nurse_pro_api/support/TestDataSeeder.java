@@ -0,0 +1,132 @@
+package com.surf.nursepro.nurse_pro_api.support;
+
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleGenerationParams;
+import com.surf.nursepro.nurse_pro_api.dto.ScheduleResponse;
+import com.surf.nursepro.nurse_pro_api.dto.ShiftResponse;
+import com.surf.nursepro.nurse_pro_api.entity.Nurse;
+import com.surf.nursepro.nurse_pro_api.entity.SwapRequest;
+import com.surf.nursepro.nurse_pro_api.enums.ExperienceLevel;
+import com.surf.nursepro.nurse_pro_api.repository.NurseRepository;
+import com.surf.nursepro.nurse_pro_api.service.ScheduleService;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the embedded database once per test context at the size of a real hospital: a few hundred
+ * nurses across departments, two generated months of shifts with their workload and conflicts,
+ * and a backlog of pending swap requests. Query count bounds only mean something when the
+ * tables hold more rows than a batch. The load test seeds the same way at a larger size.
+ */
+@TestComponent
+public class TestDataSeeder {
+    public static final int NURSES = 300;
+    public static final int YEAR = 2025;
+    public static final List<Integer> MONTHS = List.of(3, 4);
+    public static final int SWAP_REQUESTS = 40;
+
+    private static final List<String> DEPARTMENTS = List.of("ICU", "Emergency", "Surgery", "Pediatrics",
+            "Oncology", "General");
+    private static final List<String> SPECIALIZATIONS = List.of("ICU", "Trauma", "Cardiac", "Pediatric",
+            "Oncology", "Anesthesia", "Dialysis");
+    private static final List<String> SHIFT_TYPES = List.of("Day", "Evening", "Night");
+
+    private final NurseRepository nurseRepository;
+    private final ScheduleService scheduleService;
+
+    private final List<String> nurseIds = new ArrayList<>();
+    private final List<ScheduleResponse> schedules = new ArrayList<>();
+
+    public TestDataSeeder(NurseRepository nurseRepository, ScheduleService scheduleService) {
+        this.nurseRepository = nurseRepository;
+        this.scheduleService = scheduleService;
+    }
+
+    public void seed() {
+        seed(NURSES, MONTHS.stream().map(month -> YearMonth.of(YEAR, month)).toList(), SWAP_REQUESTS);
+    }
+
+    /**
+     * Seeds on the first call only; later calls keep the data of the first whatever their sizes.
+     * Swap requests are spread over the shifts of the first month.
+     */
+    public synchronized void seed(int nurseCount, List<YearMonth> months, int swapRequests) {
+        if (!nurseIds.isEmpty()) {
+            return;
+        }
+        Random random = new Random(42);
+        List<Nurse> nurses = new ArrayList<>();
+        for (int i = 0; i < nurseCount; i++) {
+            nurses.add(nurse(i, random));
+        }
+        nurseRepository.saveAll(nurses).forEach(nurse -> nurseIds.add(nurse.getId()));
+
+        for (YearMonth month : months) {
+            ScheduleGenerationParams params = new ScheduleGenerationParams();
+            params.setMonth(month.getMonthValue());
+            params.setYear(month.getYear());
+            schedules.add(scheduleService.generateSchedule(params).getData());
+        }
+
+        List<ShiftResponse> shifts = schedules.get(0).getShifts();
+        for (int i = 0; i < swapRequests; i++) {
+            ShiftResponse shift = shifts.get(i % shifts.size());
+            if (shift.getAssignedNurses().isEmpty()) {
+                continue;
+            }
+            SwapRequest request = new SwapRequest();
+            request.setShiftId(shift.getId());
+            request.setRequesterId(shift.getAssignedNurses().get(0));
+            request.setReason("Seeded request " + i);
+            scheduleService.createSwapRequest(request);
+        }
+    }
+
+    public String nurseId(int index) {
+        return nurseIds.get(index);
+    }
+
+    public int nurseCount() {
+        return nurseIds.size();
+    }
+
+    public ScheduleResponse schedule(int index) {
+        return schedules.get(index);
+    }
+
+    public int scheduleCount() {
+        return schedules.size();
+    }
+
+    /** A shift of the first seeded month that has at least one nurse assigned. */
+    public ShiftResponse staffedShift(int index) {
+        return schedules.get(0).getShifts().stream()
+                .filter(shift -> !shift.getAssignedNurses().isEmpty())
+                .skip(index)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    public static Nurse nurse(int index, Random random) {
+        Nurse nurse = new Nurse();
+        nurse.setFirstName("Nurse" + index);
+        nurse.setLastName("Seeded" + index);
+        nurse.setEmail("nurse" + index + "@hospital.test");
+        nurse.setPhone("+1555" + String.format("%07d", index));
+        nurse.setDepartment(DEPARTMENTS.get(index % DEPARTMENTS.size()));
+        nurse.setSpecializations(new ArrayList<>(List.of(
+                SPECIALIZATIONS.get(random.nextInt(SPECIALIZATIONS.size())),
+                SPECIALIZATIONS.get(random.nextInt(SPECIALIZATIONS.size())))));
+        nurse.setExperienceLevel(ExperienceLevel.values()[index % ExperienceLevel.values().length]);
+        nurse.setMaxHoursPerWeek(32 + random.nextInt(3) * 4);
+        nurse.setPreferredShifts(new ArrayList<>(List.of(SHIFT_TYPES.get(random.nextInt(SHIFT_TYPES.size())))));
+        nurse.setUnavailableDates(new ArrayList<>(List.of(
+                LocalDate.of(YEAR, 3, 1 + random.nextInt(28)),
+                LocalDate.of(YEAR, 4, 1 + random.nextInt(28)))));
+        return nurse;
+    }
+}
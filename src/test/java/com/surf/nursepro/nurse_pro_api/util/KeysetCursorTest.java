@@ -0,0 +1,50 @@
+package com.surf.nursepro.nurse_pro_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTrips() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 1, 7, 0, 0, 123_000_000), "a|b-1");
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("="));
+        assertEquals(cursor, KeysetCursor.decode(encoded));
+    }
+
+    @Test
+    void missingCursorIsTheFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsMalformedCursorsAsBadRequests() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("no separator")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("yesterday|id-1")));
+    }
+
+    @Test
+    void limitDefaultsAndBounds() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.limit(null));
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.limit(KeysetCursor.MAX_LIMIT));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.limit(0));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.limit(KeysetCursor.MAX_LIMIT + 1));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+package com.surf.nursepro.nurse_pro_api.util;
+
+import com.surf.nursepro.nurse_pro_api.entity.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShiftTimesTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 31);
+
+    @Test
+    void acceptsSingleDigitHoursAndSeconds() {
+        assertEquals(LocalTime.of(7, 0), ShiftTimes.parse("7:00"));
+        assertEquals(LocalTime.of(7, 0), ShiftTimes.parse("07:00"));
+        assertEquals(LocalTime.of(23, 30, 15), ShiftTimes.parse("23:30:15"));
+        assertEquals(LocalTime.of(7, 0), ShiftTimes.parse(" 07:00 "));
+    }
+
+    @Test
+    void rejectsInvalidTimesAsBadRequests() {
+        assertThrows(IllegalArgumentException.class, () -> ShiftTimes.parse("7am"));
+        assertThrows(IllegalArgumentException.class, () -> ShiftTimes.parse("24:00"));
+        assertThrows(IllegalArgumentException.class, () -> ShiftTimes.parse("07:60"));
+        assertThrows(IllegalArgumentException.class, () -> ShiftTimes.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> ShiftTimes.parse(null));
+    }
+
+    @Test
+    void normalizesStoredTimes() {
+        Shift shift = shift("7:00", "15:00:00");
+        ShiftTimes.normalize(shift);
+        assertEquals("07:00", shift.getStartTime());
+        assertEquals("15:00", shift.getEndTime());
+
+        Shift untimed = shift(null, null);
+        ShiftTimes.normalize(untimed);
+        assertNull(untimed.getStartTime());
+        assertThrows(IllegalArgumentException.class, () -> ShiftTimes.normalize(shift("07:00", "3pm")));
+    }
+
+    @Test
+    void nightShiftEndsOnTheNextDayAcrossAMonthBoundary() {
+        Shift night = shift("23:00", "07:00");
+        assertEquals(LocalDateTime.of(2025, 3, 31, 23, 0), ShiftTimes.start(night));
+        assertEquals(LocalDateTime.of(2025, 4, 1, 7, 0), ShiftTimes.end(night));
+        assertEquals(8.0, ShiftTimes.hours(night));
+    }
+
+    @Test
+    void equalStartAndEndIsAFullDay() {
+        assertEquals(24.0, ShiftTimes.hours(shift("07:00", "07:00")));
+        assertEquals(0.0, ShiftTimes.hours(shift("07:00", null)));
+    }
+
+    @Test
+    void missingTimesHaveNoStartOrEnd() {
+        assertNull(ShiftTimes.start(shift(null, "15:00")));
+        assertNull(ShiftTimes.end(shift(null, "15:00")));
+        assertEquals(LocalDateTime.of(2025, 3, 31, 7, 0), ShiftTimes.start(shift("07:00", null)));
+        assertNull(ShiftTimes.end(shift("07:00", null)));
+    }
+
+    private static Shift shift(String start, String end) {
+        Shift shift = new Shift();
+        shift.setDate(DAY);
+        shift.setStartTime(start);
+        shift.setEndTime(end);
+        return shift;
+    }
+}
@@ -0,0 +1,61 @@
+package com.surf.nursepro.nurse_pro_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    @Test
+    void allowsABurstOfCapacityThenThrottles() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 16);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("user-1"));
+        }
+        long wait = limiter.tryAcquire("user-1");
+        // One token a minute: the next one is close to a minute away
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(50) && wait <= TimeUnit.MINUTES.toNanos(1), wait + "ns");
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        // One token every 10ms
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 6000, 16);
+        assertEquals(0, limiter.tryAcquire("user-1"));
+        assertTrue(limiter.tryAcquire("user-1") > 0);
+
+        Thread.sleep(50);
+
+        assertEquals(0, limiter.tryAcquire("user-1"));
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 4096);
+        assertEquals(0, limiter.tryAcquire("user-1"));
+        assertTrue(limiter.tryAcquire("user-1") > 0);
+
+        assertEquals(0, limiter.tryAcquire("user-2"));
+    }
+
+    @Test
+    void keysSharingAStripeShareABucket() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 1);
+        assertEquals(0, limiter.tryAcquire("user-1"));
+        assertEquals(0, limiter.tryAcquire("user-2"));
+
+        assertTrue(limiter.tryAcquire("user-3") > 0);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 1, 16));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 1, 0));
+    }
+}